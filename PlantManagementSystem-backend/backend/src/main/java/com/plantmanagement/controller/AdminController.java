@@ -1,16 +1,21 @@
 package com.plantmanagement.controller;
 
-import com.plantmanagement.dto.AdminOrderResponse;
+import com.plantmanagement.dto.CursorPage;
 import com.plantmanagement.dto.UserResponse;
-import com.plantmanagement.entity.Order;
 import com.plantmanagement.entity.User;
 import com.plantmanagement.service.AdminService;
+import com.plantmanagement.service.OrderQueryService;
+import com.plantmanagement.service.OutboxService;
+import com.plantmanagement.service.SellerStatsService;
+import com.plantmanagement.service.StockLedgerService;
+import com.plantmanagement.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -20,6 +25,10 @@ import java.util.stream.Collectors;
 public class AdminController {
 
     private final AdminService adminService;
+    private final OrderQueryService orderQueryService;
+    private final StockLedgerService stockLedgerService;
+    private final OutboxService outboxService;
+    private final SellerStatsService sellerStatsService;
 
     @GetMapping("/sellers/pending")
     @PreAuthorize("hasRole('ADMIN')")
@@ -47,7 +56,17 @@ public class AdminController {
 
     @GetMapping("/sellers")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserResponse>> getAllSellers() {
+    public ResponseEntity<?> getAllSellers(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        if (limit != null || after != null) {
+            try {
+                CursorPage<User> page = adminService.getAllSellers(PageCursor.decode(after), CursorPage.clampLimit(limit));
+                return ResponseEntity.ok(page.map(UserResponse::new));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
         List<User> sellers = adminService.getAllSellers();
         List<UserResponse> response = sellers.stream()
                 .map(UserResponse::new)
@@ -64,11 +83,55 @@ public class AdminController {
 
     @GetMapping("/orders")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<AdminOrderResponse>> getAllOrders() {
-        List<Order> orders = adminService.getAllOrders();
-        List<AdminOrderResponse> response = orders.stream()
-                .map(AdminOrderResponse::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+    public ResponseEntity<?> getAllOrders(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        if (limit != null || after != null) {
+            try {
+                return ResponseEntity.ok(orderQueryService.getAllOrders(PageCursor.decode(after), CursorPage.clampLimit(limit)));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+        return ResponseEntity.ok(orderQueryService.getAllOrders());
+    }
+
+    // Drops every inventory snapshot and folds the stock ledger into new ones
+    @PostMapping("/inventory/ledger/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuildInventorySnapshots() {
+        return ResponseEntity.ok(Map.of("movementsFolded", stockLedgerService.rebuildSnapshots()));
+    }
+
+    // Recomputes every seller's dashboard rollup from payments, orders and inventory
+    @PostMapping("/seller-stats/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuildSellerStats() {
+        return ResponseEntity.ok(Map.of("sellersRebuilt", sellerStatsService.rebuild()));
+    }
+
+    @GetMapping("/outbox/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getOutboxStats() {
+        return ResponseEntity.ok(outboxService.getStatusCounts());
+    }
+
+    // Events that ran out of delivery attempts, oldest first
+    @GetMapping("/outbox/dead")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getDeadOutboxEvents(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        try {
+            return ResponseEntity.ok(outboxService.getDeadEvents(PageCursor.decode(after), CursorPage.clampLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/outbox/dead/requeue")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> requeueDeadOutboxEvents() {
+        return ResponseEntity.ok(Map.of("requeued", outboxService.requeueDeadEvents()));
     }
-}
\ No newline at end of file
+}
@@ -4,10 +4,13 @@ import com.plantmanagement.dto.LoginRequest;
 import com.plantmanagement.dto.LoginResponse;
 import com.plantmanagement.dto.SignupRequest;
 import com.plantmanagement.dto.UserResponse;
+import com.plantmanagement.security.PasswordHashingBusyException;
 import com.plantmanagement.service.AuthService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -30,6 +33,8 @@ public class AuthController {
         try {
             UserResponse userResponse = authService.signup(request);
             return ResponseEntity.ok(userResponse);
+        } catch (PasswordHashingBusyException e) {
+            return serviceBusy(e);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(new ErrorResponse("error", e.getMessage()));
@@ -43,6 +48,8 @@ public class AuthController {
             LoginResponse loginResponse = authService.login(request);
             System.out.println("Login successful for email: " + request.getEmail()); // Debug log
             return ResponseEntity.ok(loginResponse);
+        } catch (PasswordHashingBusyException e) {
+            return serviceBusy(e);
         } catch (RuntimeException e) {
             System.err.println("Login failed for email: " + request.getEmail() + ", Error: " + e.getMessage()); // Debug
                                                                                                                 // log
@@ -83,6 +90,12 @@ public class AuthController {
         }
     }
 
+    private ResponseEntity<?> serviceBusy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse("error", e.getMessage()));
+    }
+
     // Response DTOs
     public static class ErrorResponse {
         private String status;
@@ -0,0 +1,60 @@
+package com.plantmanagement.controller;
+
+import com.plantmanagement.dto.ImportReport;
+import com.plantmanagement.service.CatalogImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/catalog/imports")
+@RequiredArgsConstructor
+@CrossOrigin(origins = { "http://localhost:8081", "http://localhost:8080", "http://localhost:8082" })
+public class CatalogImportController {
+
+    private final CatalogImportService catalogImportService;
+
+    // Streams the request body: text/csv with a header row, or application/x-ndjson with one object per line
+    @PostMapping("/{type}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importCatalog(@PathVariable String type,
+                                           @RequestParam(value = "format", required = false) String format,
+                                           @RequestParam(value = "jobId", required = false) String jobId,
+                                           HttpServletRequest request) throws IOException {
+        try {
+            CatalogImportService.ImportType importType = CatalogImportService.ImportType.fromPath(type);
+            return ResponseEntity.ok(catalogImportService.importCatalog(
+                    importType, resolveFormat(format, request.getContentType()), jobId, request.getInputStream()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Poll with the jobId passed to the import to follow its progress
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportReport> getImport(@PathVariable String jobId) {
+        return ResponseEntity.of(catalogImportService.getReport(jobId));
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ImportReport>> getRecentImports() {
+        return ResponseEntity.ok(catalogImportService.getRecentReports());
+    }
+
+    private static String resolveFormat(String format, String contentType) {
+        if (format != null) {
+            if (!format.equalsIgnoreCase(CatalogImportService.CSV) && !format.equalsIgnoreCase(CatalogImportService.NDJSON)) {
+                throw new IllegalArgumentException("Unsupported import format: " + format);
+            }
+            return format.toLowerCase();
+        }
+        return contentType != null && contentType.contains("json") ? CatalogImportService.NDJSON : CatalogImportService.CSV;
+    }
+}
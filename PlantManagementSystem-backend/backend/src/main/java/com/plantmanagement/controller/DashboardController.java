@@ -2,17 +2,27 @@ package com.plantmanagement.controller;
 
 import com.plantmanagement.dto.AdminDashboardStatsDTO;
 import com.plantmanagement.dto.SellerDashboardStatsDTO;
-import com.plantmanagement.dto.PublicStatsDTO;
+import com.plantmanagement.security.AuthenticatedUser;
 import com.plantmanagement.service.DashboardService;
+import com.plantmanagement.service.PublicStatsCache;
+import com.plantmanagement.service.SalesAnalyticsService;
+import com.plantmanagement.service.SellerDashboardStream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import java.security.Principal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -21,6 +31,9 @@ import java.security.Principal;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final SellerDashboardStream sellerDashboardStream;
+    private final SalesAnalyticsService salesAnalyticsService;
+    private final PublicStatsCache publicStatsCache;
 
     @GetMapping("/admin-stats")
     @PreAuthorize("hasRole('ADMIN')")
@@ -30,12 +43,48 @@ public class DashboardController {
 
     @GetMapping("/seller-stats")
     @PreAuthorize("hasRole('SELLER')")
-    public ResponseEntity<SellerDashboardStatsDTO> getSellerStats(Principal principal) {
-        return ResponseEntity.ok(dashboardService.getSellerDashboardStats(principal.getName()));
+    public ResponseEntity<SellerDashboardStatsDTO> getSellerStats(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(dashboardService.getSellerDashboardStats(user.getId()));
     }
 
+    // Net revenue and paid orders per day, the same buckets as the sales analytics at DAY granularity
+    @GetMapping("/seller-stats/daily")
+    @PreAuthorize("hasRole('SELLER')")
+    public ResponseEntity<?> getSellerDailyStats(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(salesAnalyticsService.getSales(user.getId(), from, to,
+                    SalesAnalyticsService.Granularity.DAY).getBuckets());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Snapshot of the seller stats, then a pushed event per change; replaces polling seller-stats
+    @GetMapping(value = "/seller-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('SELLER')")
+    public ResponseEntity<?> streamSellerStats(@AuthenticationPrincipal AuthenticatedUser user) {
+        try {
+            Long sellerId = user.getId();
+            return ResponseEntity.ok(sellerDashboardStream.subscribe(sellerId,
+                    () -> dashboardService.getSellerDashboardStats(sellerId)));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(503).contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+        }
+    }
+
+    // Served from the background-refreshed snapshot; browsers and proxies may cache it for one refresh interval
     @GetMapping("/public-stats")
-    public ResponseEntity<PublicStatsDTO> getPublicStats() {
-        return ResponseEntity.ok(dashboardService.getPublicStats());
+    public ResponseEntity<?> getPublicStats(WebRequest request) {
+        PublicStatsCache.Snapshot stats = publicStatsCache.get();
+        if (request.checkNotModified(stats.getETag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(publicStatsCache.getRefreshMs(), TimeUnit.MILLISECONDS).cachePublic())
+                .eTag(stats.getETag())
+                .body(stats.getJson());
     }
 }
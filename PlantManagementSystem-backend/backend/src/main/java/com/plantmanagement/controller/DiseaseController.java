@@ -1,10 +1,21 @@
 package com.plantmanagement.controller;
 
+import com.plantmanagement.dto.CursorPage;
+import com.plantmanagement.dto.DiagnosisResult;
+import com.plantmanagement.dto.DiseaseResponse;
+import com.plantmanagement.dto.MedicineResponse;
+import com.plantmanagement.dto.PlantResponse;
 import com.plantmanagement.entity.Disease;
+import com.plantmanagement.service.CatalogGraphService;
+import com.plantmanagement.service.CatalogSnapshot;
+import com.plantmanagement.service.DiseaseDiagnosisService;
 import com.plantmanagement.service.DiseaseService;
+import com.plantmanagement.util.PageCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,10 +26,47 @@ import java.util.List;
 public class DiseaseController {
 
     private final DiseaseService diseaseService;
+    private final DiseaseDiagnosisService diseaseDiagnosisService;
+    private final CatalogGraphService catalogGraphService;
 
     @GetMapping
-    public ResponseEntity<List<Disease>> getAllDiseases() {
-        return ResponseEntity.ok(diseaseService.getAllDiseases());
+    public ResponseEntity<?> getAllDiseases(WebRequest request,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        if (limit != null || after != null) {
+            try {
+                return ResponseEntity.ok(diseaseService.getDiseaseCatalog().page(PageCursor.decode(after), CursorPage.clampLimit(limit)));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+        CatalogSnapshot<DiseaseResponse> catalog = diseaseService.getDiseaseCatalog();
+        if (request.checkNotModified(catalog.getETag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(catalog.getETag())
+                .body(catalog.getJson());
+    }
+
+    // Ranks diseases by symptom similarity, optionally restricted to those affecting a plant
+    @GetMapping("/search")
+    public ResponseEntity<List<DiagnosisResult>> diagnose(
+            @RequestParam(value = "plant_id", required = false) Long plantId,
+            @RequestParam(value = "symptom", required = false) List<String> symptoms,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(diseaseDiagnosisService.diagnose(plantId, symptoms, limit));
+    }
+
+    @GetMapping("/{id}/medicines")
+    public ResponseEntity<List<MedicineResponse>> getMedicinesForDisease(@PathVariable Long id) {
+        return ResponseEntity.of(catalogGraphService.getMedicinesForDisease(id));
+    }
+
+    @GetMapping("/{id}/plants")
+    public ResponseEntity<List<PlantResponse>> getPlantsForDisease(@PathVariable Long id) {
+        return ResponseEntity.of(catalogGraphService.getPlantsForDisease(id));
     }
 
     @PostMapping
@@ -1,15 +1,19 @@
 package com.plantmanagement.controller;
 
+import com.plantmanagement.dto.CursorPage;
 import com.plantmanagement.entity.Inventory;
+import com.plantmanagement.security.AuthenticatedUser;
 import com.plantmanagement.service.InventoryService;
+import com.plantmanagement.service.OptimisticRetryExecutor;
+import com.plantmanagement.util.PageCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.nio.file.AccessDeniedException;
-import java.security.Principal;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/inventory")
@@ -18,36 +22,101 @@ import java.util.List;
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final OptimisticRetryExecutor retryExecutor;
 
     @GetMapping
     @PreAuthorize("hasRole('SELLER')")
-    public ResponseEntity<List<Inventory>> getSellerInventory(Principal principal) {
-        return ResponseEntity.ok(inventoryService.getInventoryBySeller(principal.getName()));
+    public ResponseEntity<?> getSellerInventory(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        if (limit != null || after != null) {
+            return inventoryPage(user.getId(), limit, after);
+        }
+        return ResponseEntity.ok(inventoryService.getInventoryBySeller(user.getId()));
     }
 
     // This is the new public endpoint
     @GetMapping("/seller/{sellerId}")
-    public ResponseEntity<List<Inventory>> getInventoryBySellerId(@PathVariable Long sellerId) {
+    public ResponseEntity<?> getInventoryBySellerId(@PathVariable Long sellerId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        if (limit != null || after != null) {
+            return inventoryPage(sellerId, limit, after);
+        }
         return ResponseEntity.ok(inventoryService.getInventoryBySellerId(sellerId));
     }
 
     @PostMapping
     @PreAuthorize("hasRole('SELLER')")
-    public ResponseEntity<Inventory> addInventoryItem(@RequestBody Inventory inventoryItem, Principal principal) {
-        return ResponseEntity.ok(inventoryService.addInventoryItem(inventoryItem, principal.getName()));
+    public ResponseEntity<Inventory> addInventoryItem(@RequestBody Inventory inventoryItem,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(inventoryService.addInventoryItem(inventoryItem, user.getId()));
     }
 
     @PutMapping("/{itemId}")
     @PreAuthorize("hasRole('SELLER')")
     public ResponseEntity<?> updateInventoryItem(@PathVariable Long itemId, @RequestBody Inventory updatedItem,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            Inventory item = inventoryService.updateInventoryItem(itemId, updatedItem, principal.getName());
+            Inventory item = retryExecutor.execute(() -> inventoryService.updateInventoryItem(itemId, updatedItem, user.getId()));
             return ResponseEntity.ok(item);
         } catch (AccessDeniedException e) {
             return ResponseEntity.status(403).body("Access Denied");
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body("This item is being updated by another request. Please try again.");
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Opt-in hot-item mode for items under heavy concurrent checkout
+    @PutMapping("/{itemId}/flash-sale")
+    @PreAuthorize("hasRole('SELLER')")
+    public ResponseEntity<?> setFlashSale(@PathVariable Long itemId, @RequestParam boolean enabled,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        try {
+            inventoryService.setFlashSale(itemId, enabled, user.getId());
+            return ResponseEntity.ok().build();
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body("Access Denied");
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Ledger view of an item: current stock from the snapshot plus tail, and the movement history
+    @GetMapping("/{itemId}/stock")
+    @PreAuthorize("hasAnyRole('SELLER', 'ADMIN')")
+    public ResponseEntity<?> getStockLevel(@PathVariable Long itemId, @AuthenticationPrincipal AuthenticatedUser user) {
+        try {
+            return ResponseEntity.ok(inventoryService.getStockLevel(itemId, user));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body("Access Denied");
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{itemId}/movements")
+    @PreAuthorize("hasAnyRole('SELLER', 'ADMIN')")
+    public ResponseEntity<?> getStockMovements(@PathVariable Long itemId,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        try {
+            return ResponseEntity.ok(inventoryService.getStockMovements(itemId, user, PageCursor.decode(after), CursorPage.clampLimit(limit)));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body("Access Denied");
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    private ResponseEntity<?> inventoryPage(Long sellerId, Integer limit, String after) {
+        try {
+            return ResponseEntity.ok(inventoryService.getInventoryBySellerId(sellerId, PageCursor.decode(after), CursorPage.clampLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
\ No newline at end of file
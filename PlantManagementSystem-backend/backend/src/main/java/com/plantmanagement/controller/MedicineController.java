@@ -1,10 +1,18 @@
 package com.plantmanagement.controller;
 
+import com.plantmanagement.dto.CursorPage;
+import com.plantmanagement.dto.DiseaseResponse;
+import com.plantmanagement.dto.MedicineResponse;
 import com.plantmanagement.entity.Medicine;
+import com.plantmanagement.service.CatalogGraphService;
+import com.plantmanagement.service.CatalogSnapshot;
 import com.plantmanagement.service.MedicineService;
+import com.plantmanagement.util.PageCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,10 +23,32 @@ import java.util.List;
 public class MedicineController {
 
     private final MedicineService medicineService;
+    private final CatalogGraphService catalogGraphService;
 
     @GetMapping
-    public ResponseEntity<List<Medicine>> getAllMedicines() {
-        return ResponseEntity.ok(medicineService.getAllMedicines());
+    public ResponseEntity<?> getAllMedicines(WebRequest request,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        if (limit != null || after != null) {
+            try {
+                return ResponseEntity.ok(medicineService.getMedicineCatalog().page(PageCursor.decode(after), CursorPage.clampLimit(limit)));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+        CatalogSnapshot<MedicineResponse> catalog = medicineService.getMedicineCatalog();
+        if (request.checkNotModified(catalog.getETag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(catalog.getETag())
+                .body(catalog.getJson());
+    }
+
+    @GetMapping("/{id}/diseases")
+    public ResponseEntity<List<DiseaseResponse>> getDiseasesForMedicine(@PathVariable Long id) {
+        return ResponseEntity.of(catalogGraphService.getDiseasesForMedicine(id));
     }
 
     @PostMapping
@@ -1,18 +1,25 @@
 package com.plantmanagement.controller;
 
+import com.plantmanagement.dto.BulkStatusRequest;
+import com.plantmanagement.dto.CheckoutRequest;
+import com.plantmanagement.dto.CursorPage;
 import com.plantmanagement.dto.OrderRequest;
 import com.plantmanagement.dto.OrderResponse;
 import com.plantmanagement.entity.Order;
+import com.plantmanagement.security.AuthenticatedUser;
+import com.plantmanagement.service.OptimisticRetryExecutor;
+import com.plantmanagement.service.OrderQueryService;
 import com.plantmanagement.service.OrderService;
+import com.plantmanagement.util.PageCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -21,62 +28,105 @@ import java.util.stream.Collectors;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderQueryService orderQueryService;
+    private final OptimisticRetryExecutor retryExecutor;
 
     @PostMapping
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<Order> createOrder(@RequestBody OrderRequest orderRequest, Principal principal) {
+    public ResponseEntity<OrderResponse> createOrder(@RequestBody OrderRequest orderRequest,
+            @AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            Order order = orderService.createOrder(orderRequest, principal.getName());
-            return ResponseEntity.ok(order);
+            Order order = orderService.createOrder(orderRequest, user.getId());
+            return ResponseEntity.ok(new OrderResponse(order));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(null);
         }
     }
 
+    // Whole-cart checkout: one order per seller, created in a single transaction
+    @PostMapping("/checkout")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public ResponseEntity<?> checkout(@RequestBody CheckoutRequest checkoutRequest,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        try {
+            List<Long> orderIds = orderService.checkout(checkoutRequest, user.getId());
+            return ResponseEntity.ok(orderQueryService.getOrdersByIds(orderIds));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/customer")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<List<OrderResponse>> getCustomerOrders(Principal principal) {
-        List<Order> orders = orderService.getOrdersByCustomer(principal.getName());
-        List<OrderResponse> orderResponses = orders.stream()
-                .map(OrderResponse::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(orderResponses);
+    public ResponseEntity<?> getCustomerOrders(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        if (limit != null || after != null) {
+            try {
+                return ResponseEntity.ok(orderQueryService.getOrdersByCustomer(user.getId(), PageCursor.decode(after), CursorPage.clampLimit(limit)));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+        return ResponseEntity.ok(orderQueryService.getOrdersByCustomer(user.getId()));
     }
 
     @GetMapping("/seller")
     @PreAuthorize("hasRole('SELLER') or hasRole('ADMIN')")
-    public ResponseEntity<List<OrderResponse>> getSellerOrders(Principal principal) {
-        List<Order> orders = orderService.getOrdersBySeller(principal.getName());
-        List<OrderResponse> orderResponses = orders.stream()
-                .map(OrderResponse::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(orderResponses);
+    public ResponseEntity<?> getSellerOrders(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        if (limit != null || after != null) {
+            try {
+                return ResponseEntity.ok(orderQueryService.getOrdersBySeller(user.getId(), PageCursor.decode(after), CursorPage.clampLimit(limit)));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+        return ResponseEntity.ok(orderQueryService.getOrdersBySeller(user.getId()));
     }
 
     @PostMapping("/{orderId}/pay")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<OrderResponse> payForOrder(@PathVariable Long orderId, Principal principal) {
+    public ResponseEntity<OrderResponse> payForOrder(@PathVariable Long orderId,
+            @AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            Order paidOrder = orderService.processPayment(orderId, principal.getName());
+            Order paidOrder = retryExecutor.execute(() -> orderService.processPayment(orderId, user.getId()));
             OrderResponse response = new OrderResponse(paidOrder);
             return ResponseEntity.ok(response);
         } catch (AccessDeniedException e) {
             return ResponseEntity.status(403).build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // One transition for many orders, e.g. marking a day's shipments as SHIPPED
+    @PutMapping("/status")
+    @PreAuthorize("hasRole('SELLER') or hasRole('ADMIN')")
+    public ResponseEntity<?> updateOrderStatuses(@RequestBody BulkStatusRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        try {
+            return ResponseEntity.ok(orderService.updateOrderStatuses(request, user));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PutMapping("/{orderId}/status")
     @PreAuthorize("hasRole('SELLER') or hasRole('ADMIN')")
     public ResponseEntity<OrderResponse> updateOrderStatus(
             @PathVariable Long orderId,
             @RequestParam("status") Order.OrderStatus status,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            Order updatedOrder = orderService.updateOrderStatus(orderId, status, principal.getName());
+            Order updatedOrder = retryExecutor.execute(() -> orderService.updateOrderStatus(orderId, status, user));
             OrderResponse response = new OrderResponse(updatedOrder);
             return ResponseEntity.ok(response);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -2,14 +2,17 @@ package com.plantmanagement.controller;
 
 import com.plantmanagement.dto.PaymentRequest;
 import com.plantmanagement.entity.Payment;
+import com.plantmanagement.security.AuthenticatedUser;
+import com.plantmanagement.service.OptimisticRetryExecutor;
 import com.plantmanagement.service.PaymentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.nio.file.AccessDeniedException;
-import java.security.Principal;
 
 @RestController
 @RequestMapping("/api/payment")
@@ -18,18 +21,21 @@ import java.security.Principal;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final OptimisticRetryExecutor retryExecutor;
 
     @PostMapping("/order/{orderId}")
     @PreAuthorize("hasRole('CUSTOMER')")
     public ResponseEntity<?> makePayment(
             @PathVariable Long orderId,
             @RequestBody PaymentRequest paymentRequest, // Accept the request body
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            Payment payment = paymentService.processPayment(orderId, paymentRequest, principal.getName());
+            Payment payment = retryExecutor.execute(() -> paymentService.processPayment(orderId, paymentRequest, user.getId()));
             return ResponseEntity.ok(payment);
         } catch (AccessDeniedException e) {
             return ResponseEntity.status(403).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body("This order is being updated by another request. Please try again.");
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
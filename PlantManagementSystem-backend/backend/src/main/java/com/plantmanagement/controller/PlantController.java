@@ -1,11 +1,19 @@
 package com.plantmanagement.controller;
 
+import com.plantmanagement.dto.CursorPage;
+import com.plantmanagement.dto.DiseaseResponse;
+import com.plantmanagement.dto.PlantResponse;
 import com.plantmanagement.entity.Plant;
+import com.plantmanagement.service.CatalogGraphService;
+import com.plantmanagement.service.CatalogSnapshot;
 import com.plantmanagement.service.PlantService;
+import com.plantmanagement.util.PageCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,10 +24,33 @@ import java.util.List;
 public class PlantController {
 
     private final PlantService plantService;
+    private final CatalogGraphService catalogGraphService;
 
     @GetMapping
-    public ResponseEntity<List<Plant>> getAllPlants() {
-        return ResponseEntity.ok(plantService.getAllPlants());
+    public ResponseEntity<?> getAllPlants(WebRequest request,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        if (limit != null || after != null) {
+            try {
+                return ResponseEntity.ok(plantService.getPlantCatalog().page(PageCursor.decode(after), CursorPage.clampLimit(limit)));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+        // Served straight from the pre-serialized catalog snapshot
+        CatalogSnapshot<PlantResponse> catalog = plantService.getPlantCatalog();
+        if (request.checkNotModified(catalog.getETag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(catalog.getETag())
+                .body(catalog.getJson());
+    }
+
+    @GetMapping("/{id}/diseases")
+    public ResponseEntity<List<DiseaseResponse>> getDiseasesForPlant(@PathVariable Long id) {
+        return ResponseEntity.of(catalogGraphService.getDiseasesForPlant(id));
     }
 
     @PostMapping
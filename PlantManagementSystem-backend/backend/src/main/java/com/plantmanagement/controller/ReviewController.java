@@ -1,14 +1,16 @@
 package com.plantmanagement.controller;
 
+import com.plantmanagement.dto.CursorPage;
 import com.plantmanagement.entity.Review;
+import com.plantmanagement.security.AuthenticatedUser;
 import com.plantmanagement.service.ReviewService;
+import com.plantmanagement.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
-import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 
@@ -21,7 +23,16 @@ public class ReviewController {
     private final ReviewService reviewService;
 
     @GetMapping("/seller/{sellerId}")
-    public ResponseEntity<List<Review>> getReviewsBySeller(@PathVariable Long sellerId) {
+    public ResponseEntity<?> getReviewsBySeller(@PathVariable Long sellerId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        if (limit != null || after != null) {
+            try {
+                return ResponseEntity.ok(reviewService.getReviewsBySeller(sellerId, PageCursor.decode(after), CursorPage.clampLimit(limit)));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
         return ResponseEntity.ok(reviewService.getReviewsBySeller(sellerId));
     }
 
@@ -29,13 +40,13 @@ public class ReviewController {
     @PreAuthorize("hasRole('CUSTOMER')")
     public ResponseEntity<?> createReview(
             @RequestBody Map<String, Object> request,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         try {
             Long sellerId = Long.valueOf(request.get("sellerId").toString());
             int rating = Integer.parseInt(request.get("rating").toString());
             String comment = (String) request.get("comment");
 
-            Review review = reviewService.createReview(sellerId, principal.getName(), rating, comment);
+            Review review = reviewService.createReview(sellerId, user.getId(), rating, comment);
             return ResponseEntity.ok(review);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
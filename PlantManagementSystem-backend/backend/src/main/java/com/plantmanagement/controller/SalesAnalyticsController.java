@@ -0,0 +1,48 @@
+package com.plantmanagement.controller;
+
+import com.plantmanagement.security.AuthenticatedUser;
+import com.plantmanagement.service.SalesAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/seller/analytics")
+@RequiredArgsConstructor
+@CrossOrigin(origins = { "http://localhost:8081", "http://localhost:8082" })
+public class SalesAnalyticsController {
+
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    // Revenue, paid orders and average order value per day, week or month of the range
+    @GetMapping("/sales")
+    @PreAuthorize("hasRole('SELLER')")
+    public ResponseEntity<?> getSales(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") SalesAnalyticsService.Granularity granularity) {
+        try {
+            return ResponseEntity.ok(salesAnalyticsService.getSales(user.getId(), from, to, granularity));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Units sold and revenue per inventory item over the range, best sellers first
+    @GetMapping("/items")
+    @PreAuthorize("hasRole('SELLER')")
+    public ResponseEntity<?> getItemSales(@AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(salesAnalyticsService.getItemSales(user.getId(), from, to));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
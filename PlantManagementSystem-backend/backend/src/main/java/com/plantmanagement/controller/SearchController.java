@@ -0,0 +1,26 @@
+package com.plantmanagement.controller;
+
+import com.plantmanagement.dto.SearchResult;
+import com.plantmanagement.service.CatalogSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@CrossOrigin(origins = { "http://localhost:8081", "http://localhost:8082" })
+public class SearchController {
+
+    private final CatalogSearchService catalogSearchService;
+
+    // type is optional: "plant", "disease" or "medicine"
+    @GetMapping
+    public ResponseEntity<List<SearchResult>> search(@RequestParam("q") String query,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok(catalogSearchService.search(query, type, limit));
+    }
+}
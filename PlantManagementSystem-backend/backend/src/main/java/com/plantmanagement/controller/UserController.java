@@ -2,9 +2,11 @@ package com.plantmanagement.controller;
 
 import com.plantmanagement.dto.UserResponse;
 import com.plantmanagement.dto.UserUpdateRequest;
+import com.plantmanagement.security.AuthenticatedUser;
 import com.plantmanagement.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -12,7 +14,6 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.security.Principal;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -33,12 +34,13 @@ public class UserController {
     }
 
     @GetMapping("/profile")
-    public ResponseEntity<UserResponse> getProfile(Principal principal) {
-        return ResponseEntity.ok(new UserResponse(userService.getUserByEmail(principal.getName())));
+    public ResponseEntity<UserResponse> getProfile(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(new UserResponse(userService.getUserById(user.getId())));
     }
 
     @PutMapping("/profile")
-    public ResponseEntity<UserResponse> updateProfile(@RequestBody UserUpdateRequest request, Principal principal) {
-        return ResponseEntity.ok(new UserResponse(userService.updateUserProfile(principal.getName(), request)));
+    public ResponseEntity<UserResponse> updateProfile(@RequestBody UserUpdateRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(new UserResponse(userService.updateUserProfile(user.getId(), request)));
     }
 }
\ No newline at end of file
@@ -30,6 +30,18 @@ public class AdminOrderResponse {
         }
     }
 
+    public AdminOrderResponse(OrderListRow row, List<OrderItemRow> itemRows) {
+        this.id = row.getId();
+        this.customerName = row.getCustomerName();
+        this.sellerName = row.getSellerName();
+        this.totalAmount = row.getTotalAmount();
+        this.status = row.getStatus().name();
+        this.orderDate = row.getOrderDate();
+        this.items = itemRows.stream()
+                .map(item -> new OrderItemDto(item.getProductName(), item.getQuantity(), item.getPrice()))
+                .collect(Collectors.toList());
+    }
+
     public AdminOrderResponse(Order order) {
         this.id = order.getId();
         this.customerName = order.getCustomer().getName();
@@ -0,0 +1,14 @@
+package com.plantmanagement.dto;
+
+import com.plantmanagement.entity.Order;
+import lombok.Data;
+
+import java.util.List;
+
+// Either explicit orderIds, or every order of the caller currently in currentStatus
+@Data
+public class BulkStatusRequest {
+    private List<Long> orderIds;
+    private Order.OrderStatus currentStatus;
+    private Order.OrderStatus status;
+}
@@ -0,0 +1,26 @@
+package com.plantmanagement.dto;
+
+import com.plantmanagement.entity.Order;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class BulkStatusResponse {
+    Order.OrderStatus status;
+    int updated;
+    List<Outcome> outcomes;
+
+    @Value
+    public static class Outcome {
+        Long orderId;
+        Result result;
+        Order.OrderStatus previousStatus; // null when the order was not found
+    }
+
+    public enum Result {
+        UPDATED,
+        NOT_FOUND, // missing, or belongs to another seller
+        ILLEGAL_TRANSITION
+    }
+}
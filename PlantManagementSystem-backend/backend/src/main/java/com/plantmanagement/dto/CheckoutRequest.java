@@ -0,0 +1,11 @@
+package com.plantmanagement.dto;
+
+import lombok.Data;
+import java.util.List;
+
+// A whole cart; lines may come from several sellers and are split into one order per seller
+@Data
+public class CheckoutRequest {
+    private List<OrderRequest.OrderItemDto> items;
+    private OrderRequest.ShippingAddressDto shippingAddress;
+}
@@ -0,0 +1,42 @@
+package com.plantmanagement.dto;
+
+import com.plantmanagement.util.PageCursor;
+import lombok.Value;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// One keyset page; pass nextCursor back as ?after= to fetch the following page
+@Value
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    List<T> items;
+    String nextCursor; // null on the last page
+    boolean hasMore;
+
+    public static int clampLimit(Integer limit) {
+        return limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    // rows holds up to limit + 1 entries; the extra row only signals that another page exists
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null, false);
+        }
+        List<T> page = rows.subList(0, limit);
+        return new CursorPage<>(page, cursorOf.apply(page.get(limit - 1)).encode(), true);
+    }
+
+    // Converts the whole page at once, for mappers that batch their own lookups
+    public <R> CursorPage<R> mapItems(Function<List<T>, List<R>> mapper) {
+        return new CursorPage<>(mapper.apply(items), nextCursor, hasMore);
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).collect(Collectors.toList()), nextCursor, hasMore);
+    }
+}
@@ -0,0 +1,9 @@
+package com.plantmanagement.dto;
+
+import lombok.Value;
+
+@Value
+public class DiagnosisResult {
+    DiseaseResponse disease;
+    double score; // cosine similarity between observed symptoms and the disease's symptom text
+}
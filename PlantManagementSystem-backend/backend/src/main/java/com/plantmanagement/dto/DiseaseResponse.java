@@ -0,0 +1,17 @@
+package com.plantmanagement.dto;
+
+import lombok.Value;
+
+// Immutable catalog view of a Disease; same JSON shape as the entity
+@Value
+public class DiseaseResponse {
+    Long id;
+    String name;
+    String description;
+    String symptoms;
+    String cause;
+    String prevention;
+    String treatment;
+    String severity;
+    String affectedPlants;
+}
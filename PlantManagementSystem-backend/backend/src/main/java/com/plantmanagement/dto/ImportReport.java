@@ -0,0 +1,34 @@
+package com.plantmanagement.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Progress and outcome of one catalog import; updated by the importing thread while it runs
+@Data
+public class ImportReport {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    @Data
+    public static class RowError {
+        private final long line;
+        private final String message;
+    }
+
+    private final String jobId;
+    private final String type;
+    private final String format;
+    private volatile Status status = Status.RUNNING;
+    private volatile long rowsRead;
+    private volatile long rowsImported;
+    private volatile long rowsRejected;
+    private final List<RowError> errors = new CopyOnWriteArrayList<>(); // capped; rowsRejected has the full count
+    private volatile String failure;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private volatile LocalDateTime finishedAt;
+}
@@ -0,0 +1,11 @@
+package com.plantmanagement.dto;
+
+import lombok.Value;
+
+@Value
+public class ItemSales {
+    Long inventoryId;
+    String name;
+    long unitsSold;
+    double revenue;
+}
@@ -0,0 +1,18 @@
+package com.plantmanagement.dto;
+
+import lombok.Value;
+
+// Immutable catalog view of a Medicine; same JSON shape as the entity
+@Value
+public class MedicineResponse {
+    Long id;
+    String name;
+    String type;
+    String activeIngredient;
+    String description;
+    String dosage;
+    String applicationMethod;
+    String targetDiseases;
+    String safetyInstructions;
+    String manufacturer;
+}
@@ -0,0 +1,11 @@
+package com.plantmanagement.dto;
+
+import lombok.Value;
+
+@Value
+public class OrderItemRow {
+    Long orderId;
+    String productName;
+    Integer quantity;
+    Double price;
+}
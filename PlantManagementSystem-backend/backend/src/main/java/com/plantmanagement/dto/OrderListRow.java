@@ -0,0 +1,26 @@
+package com.plantmanagement.dto;
+
+import com.plantmanagement.entity.Order;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+// Flat projection of one order and the customer, seller and address columns the order list DTOs show
+@Value
+public class OrderListRow {
+    Long id;
+    String customerName;
+    String customerEmail;
+    String customerPhoneNumber;
+    String sellerName;
+    String sellerShopName;
+    Double totalAmount;
+    Order.OrderStatus status;
+    LocalDateTime orderDate;
+    Long shippingAddressId; // null when the order has no address
+    String street;
+    String city;
+    String state;
+    String zipCode;
+    String country;
+}
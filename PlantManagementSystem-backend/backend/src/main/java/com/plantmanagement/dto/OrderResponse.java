@@ -50,6 +50,24 @@ public class OrderResponse {
         }
     }
 
+    public OrderResponse(OrderListRow row, List<OrderItemRow> itemRows) {
+        this.id = row.getId();
+        this.customerName = row.getCustomerName();
+        this.customerEmail = row.getCustomerEmail();
+        this.customerPhoneNumber = row.getCustomerPhoneNumber();
+        if (row.getShippingAddressId() != null) {
+            this.shippingAddress = new ShippingAddressDto(
+                    row.getStreet(), row.getCity(), row.getState(), row.getZipCode(), row.getCountry());
+        }
+        this.sellerShopName = row.getSellerShopName();
+        this.totalAmount = row.getTotalAmount();
+        this.status = row.getStatus().name();
+        this.orderDate = row.getOrderDate();
+        this.items = itemRows.stream()
+                .map(item -> new OrderItemDto(item.getProductName(), item.getQuantity(), item.getPrice()))
+                .collect(Collectors.toList());
+    }
+
     public OrderResponse(Order order) {
         this.id = order.getId();
         this.customerName = order.getCustomer().getName();
@@ -0,0 +1,19 @@
+package com.plantmanagement.dto;
+
+import lombok.Value;
+
+// Immutable catalog view of a Plant; same JSON shape as the entity
+@Value
+public class PlantResponse {
+    Long id;
+    String name;
+    String scientificName;
+    String category;
+    String description;
+    String growthSeason;
+    String growthRate;
+    String waterRequirements;
+    String lightRequirements;
+    String soilType;
+    String careInstructions;
+}
@@ -0,0 +1,14 @@
+package com.plantmanagement.dto;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+// Net sales of one day, ISO week (starting Monday) or month, identified by its first day
+@Value
+public class SalesBucket {
+    LocalDate periodStart;
+    long orders;
+    double revenue;
+    double averageOrderValue;
+}
@@ -0,0 +1,16 @@
+package com.plantmanagement.dto;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Value
+public class SalesSummary {
+    LocalDate from;
+    LocalDate to;
+    long orders;
+    double revenue;
+    double averageOrderValue;
+    List<SalesBucket> buckets;
+}
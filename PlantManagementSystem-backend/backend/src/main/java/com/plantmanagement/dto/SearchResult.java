@@ -0,0 +1,12 @@
+package com.plantmanagement.dto;
+
+import lombok.Value;
+
+@Value
+public class SearchResult {
+    String type; // "plant", "disease" or "medicine"
+    Long id;
+    String name;
+    double score;
+    Object item;
+}
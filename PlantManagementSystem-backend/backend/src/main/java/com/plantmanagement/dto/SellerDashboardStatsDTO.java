@@ -15,4 +15,6 @@ public class SellerDashboardStatsDTO {
     private long lowStockItems;
     private long totalProducts;
     private List<OrderResponse> recentOrders;
+    // seller_stats.seq the totals were read at; stream events with a seq at or below it are already counted
+    private long seq;
 }
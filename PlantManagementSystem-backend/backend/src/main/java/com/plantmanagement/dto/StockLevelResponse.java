@@ -0,0 +1,12 @@
+package com.plantmanagement.dto;
+
+import lombok.Value;
+
+@Value
+public class StockLevelResponse {
+    Long inventoryId;
+    long quantity; // snapshot + ledger tail
+    long snapshotQuantity;
+    long snapshotMovementId;
+    long tailMovements;
+}
@@ -0,0 +1,31 @@
+package com.plantmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Stock taken from a flash-sale item's in-memory counter but not yet applied to its inventory row.
+// Written in the checkout transaction, so a crash before the next flush loses nothing.
+@Entity
+@Table(name = "flash_sale_pending")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlashSalePendingDecrement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "inventory_id", nullable = false)
+    private Long inventoryId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,48 @@
+package com.plantmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+public class IdempotencyKey {
+
+    // SHA-256 hex digest of user id and Idempotency-Key header; the raw key is never stored
+    @Id
+    @Column(name = "key_digest", length = 64)
+    private String keyDigest;
+
+    // SHA-256 hex digest of method, path and body of the first request that used the key
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false, length = 16)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "response_body", columnDefinition = "mediumblob")
+    private byte[] responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // A short lease while IN_PROGRESS, the full retention time once COMPLETED
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public enum Status {
+        IN_PROGRESS,
+        COMPLETED
+    }
+}
@@ -2,10 +2,12 @@ package com.plantmanagement.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
 @Table(name = "inventory")
+@DynamicUpdate // Edits to other columns must not write back a stale quantity
 @Data
 public class Inventory {
 
@@ -30,6 +32,15 @@ public class Inventory {
 
     @Column(name = "low_stock_threshold")
     private int lowStockThreshold;
+
+    // Hot-item mode: checkouts draw from an in-memory counter and the row is updated in batches
+    @Column(name = "flash_sale", nullable = false, columnDefinition = "bit(1) default 0")
+    private boolean flashSale;
+
+    // Optimistic lock; every stock change, including the JDBC batches, bumps it
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "seller_id", nullable = false)
@@ -0,0 +1,28 @@
+package com.plantmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Compacted stock ledger: the sum of an item's movements up to and including lastMovementId
+@Entity
+@Table(name = "inventory_snapshots", indexes = @Index(name = "idx_inventory_snapshots_last_movement", columnList = "last_movement_id"))
+@Data
+@NoArgsConstructor
+public class InventorySnapshot {
+
+    @Id
+    @Column(name = "inventory_id")
+    private Long inventoryId;
+
+    @Column(nullable = false)
+    private Long quantity;
+
+    @Column(name = "last_movement_id", nullable = false)
+    private Long lastMovementId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
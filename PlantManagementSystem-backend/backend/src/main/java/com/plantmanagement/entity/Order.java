@@ -3,10 +3,18 @@ package com.plantmanagement.entity;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_customer_date", columnList = "customer_id, order_date, id"),
+        @Index(name = "idx_orders_seller_date", columnList = "seller_id, order_date, id"),
+        @Index(name = "idx_orders_date", columnList = "order_date, id")
+})
 @Data
 public class Order {
 
@@ -36,14 +44,50 @@ public class Order {
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
 
-    @Column(nullable = false)
+    @Column(name = "order_date", nullable = false)
     private LocalDateTime orderDate;
 
+    // Optimistic lock; SQL-level status updates bump it as well
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     public enum OrderStatus {
         PENDING_PAYMENT,
         PROCESSING,
         SHIPPED,
         DELIVERED,
-        CANCELLED
+        CANCELLED;
+
+        // Legal moves: PENDING_PAYMENT -> PROCESSING -> SHIPPED -> DELIVERED, cancel before shipping
+        private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+        static {
+            TRANSITIONS.put(PENDING_PAYMENT, EnumSet.of(PROCESSING, CANCELLED));
+            TRANSITIONS.put(PROCESSING, EnumSet.of(SHIPPED, CANCELLED));
+            TRANSITIONS.put(SHIPPED, EnumSet.of(DELIVERED));
+            TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+            TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+        }
+
+        public boolean canTransitionTo(OrderStatus next) {
+            return TRANSITIONS.get(this).contains(next);
+        }
+
+        // Counted as an active order on the seller dashboard
+        public boolean isActive() {
+            return this == PROCESSING || this == SHIPPED;
+        }
+
+        // Every status an order may be in to move to the given one
+        public static Set<OrderStatus> sourcesOf(OrderStatus next) {
+            Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+            TRANSITIONS.forEach((from, targets) -> {
+                if (targets.contains(next)) {
+                    sources.add(from);
+                }
+            });
+            return sources;
+        }
     }
 }
\ No newline at end of file
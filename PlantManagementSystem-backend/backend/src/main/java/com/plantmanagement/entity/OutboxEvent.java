@@ -0,0 +1,58 @@
+package com.plantmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_status_available", columnList = "status, available_at, id"),
+        @Index(name = "idx_outbox_events_aggregate", columnList = "aggregate_id, status, id")
+})
+@Data
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 40)
+    @Enumerated(EnumType.STRING)
+    private EventType eventType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload; // JSON
+
+    @Column(nullable = false, length = 16)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // PENDING: earliest next delivery (pushed forward while leased); DELIVERED: delivery time
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    public enum EventType {
+        ORDER_CREATED,
+        ORDER_PAID,
+        ORDER_STATUS_CHANGED
+    }
+
+    public enum Status {
+        PENDING,
+        DELIVERED,
+        DEAD
+    }
+}
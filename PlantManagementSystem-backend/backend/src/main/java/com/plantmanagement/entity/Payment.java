@@ -16,7 +16,7 @@ public class Payment {
     private Long id;
 
     @OneToOne
-    @JoinColumn(name = "order_id", nullable = false)
+    @JoinColumn(name = "order_id", nullable = false, unique = true) // At most one payment per order
     @JsonIgnore
     private Order order;
 
@@ -36,6 +36,10 @@ public class Payment {
     @Enumerated(EnumType.STRING)
     private PaymentStatus status;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     public enum PaymentStatus {
         COMPLETED, FAILED, PENDING
     }
@@ -0,0 +1,40 @@
+package com.plantmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// Net paid orders and revenue of one seller on one day, maintained alongside SellerItemDailySales
+@Entity
+@Table(name = "seller_daily_sales")
+@IdClass(SellerDailySales.Key.class)
+@Data
+@NoArgsConstructor
+public class SellerDailySales {
+
+    @Id
+    @Column(name = "seller_id")
+    private Long sellerId;
+
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private long orders;
+
+    @Column(nullable = false)
+    private double revenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long sellerId;
+        private LocalDate day;
+    }
+}
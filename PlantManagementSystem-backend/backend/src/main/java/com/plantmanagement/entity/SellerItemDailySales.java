@@ -0,0 +1,49 @@
+package com.plantmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Net sales of one inventory item on one day: paid orders add to the day they were paid,
+ * cancelled paid orders subtract on the day they were cancelled. Keyed seller first so a
+ * seller's date range is one index range.
+ */
+@Entity
+@Table(name = "seller_item_daily_sales")
+@IdClass(SellerItemDailySales.Key.class)
+@Data
+@NoArgsConstructor
+public class SellerItemDailySales {
+
+    @Id
+    @Column(name = "seller_id")
+    private Long sellerId;
+
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+
+    @Id
+    @Column(name = "inventory_id")
+    private Long inventoryId;
+
+    @Column(name = "units_sold", nullable = false)
+    private long unitsSold;
+
+    @Column(nullable = false)
+    private double revenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long sellerId;
+        private LocalDate day;
+        private Long inventoryId;
+    }
+}
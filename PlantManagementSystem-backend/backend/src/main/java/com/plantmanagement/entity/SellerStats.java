@@ -0,0 +1,38 @@
+package com.plantmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Running dashboard totals for one seller, kept current by delta upserts in SellerStatsService
+@Entity
+@Table(name = "seller_stats")
+@Data
+@NoArgsConstructor
+public class SellerStats {
+
+    @Id
+    @Column(name = "seller_id")
+    private Long sellerId;
+
+    @Column(name = "total_revenue", nullable = false)
+    private double totalRevenue;
+
+    @Column(name = "active_orders", nullable = false)
+    private long activeOrders;
+
+    @Column(name = "product_count", nullable = false)
+    private long productCount;
+
+    @Column(name = "low_stock_count", nullable = false)
+    private long lowStockCount;
+
+    // Bumped once per transaction that announces a change to the seller's live dashboard
+    @Column(nullable = false)
+    private long seq;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
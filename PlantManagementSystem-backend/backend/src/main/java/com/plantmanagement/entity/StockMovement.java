@@ -0,0 +1,46 @@
+package com.plantmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Append-only stock ledger: one signed change to one inventory item. Rows are never updated or deleted.
+@Entity
+@Table(name = "stock_movements", indexes = {
+        @Index(name = "idx_stock_movements_item", columnList = "inventory_id, id"),
+        @Index(name = "idx_stock_movements_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "inventory_id", nullable = false)
+    private Long inventoryId;
+
+    @Column(nullable = false, length = 32)
+    @Enumerated(EnumType.STRING)
+    private MovementType type;
+
+    @Column(name = "quantity_delta", nullable = false)
+    private Integer quantityDelta;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum MovementType {
+        OPENING_BALANCE,
+        SELLER_ADJUSTMENT,
+        SALE,
+        CANCELLATION,
+        RESERVATION_RELEASE
+    }
+}
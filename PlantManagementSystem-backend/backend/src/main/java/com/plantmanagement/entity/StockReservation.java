@@ -0,0 +1,28 @@
+package com.plantmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Stock held by an unpaid order. The row is deleted when the order is paid or when the sweeper cancels it,
+// so the table only ever holds live reservations.
+@Entity
+@Table(name = "stock_reservations", indexes = @Index(name = "idx_stock_reservations_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservation {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
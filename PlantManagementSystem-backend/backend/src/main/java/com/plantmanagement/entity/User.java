@@ -10,7 +10,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_type", columnList = "user_type, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,16 @@
+package com.plantmanagement.event;
+
+import lombok.Value;
+
+/**
+ * Published by the catalog store after it swaps in a new snapshot. {@code record} is the single
+ * plant, disease or medicine that was added, or null when the whole catalog was reloaded.
+ */
+@Value
+public class CatalogChangedEvent {
+    Object record;
+
+    public boolean isReload() {
+        return record == null;
+    }
+}
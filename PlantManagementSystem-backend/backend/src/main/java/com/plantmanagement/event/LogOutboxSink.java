@@ -0,0 +1,20 @@
+package com.plantmanagement.event;
+
+import com.plantmanagement.entity.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class LogOutboxSink implements OutboxSink {
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public void deliver(OutboxEvent event) {
+        log.info("Outbox event {} {} for order {}: {}", event.getId(), event.getEventType(), event.getAggregateId(), event.getPayload());
+    }
+}
@@ -0,0 +1,16 @@
+package com.plantmanagement.event;
+
+import com.plantmanagement.entity.OutboxEvent;
+
+/**
+ * A destination for outbox events. Delivery is at-least-once: a sink may see the same event id
+ * again after a retry or a dispatcher crash, so it must tolerate (or dedupe on) repeats.
+ * Throwing schedules a retry with backoff.
+ */
+public interface OutboxSink {
+
+    // Name used to enable the sink in outbox.sinks
+    String name();
+
+    void deliver(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,77 @@
+package com.plantmanagement.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Setter;
+import lombok.Value;
+import lombok.experimental.NonFinal;
+
+/**
+ * A change to one seller's dashboard, published by the order, payment and inventory services
+ * inside their transaction and pushed to the seller's live stream after commit. Only the fields
+ * relevant to the type are set: a client applies it to the stats it got in the stream's
+ * snapshot instead of polling /api/dashboard/seller-stats again.
+ *
+ * Before commit each event is stamped with its seller's new seller_stats.seq, shared by every
+ * event of the transaction; the snapshot carries the seq its totals were read at, so an event
+ * whose seq is not above it is already counted there. Events published outside a transaction
+ * have no seq.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SellerDashboardEvent {
+
+    public enum Type {
+        ORDER_CREATED,
+        ORDER_STATUS_CHANGED,
+        REVENUE_CHANGED,
+        LOW_STOCK,
+        PRODUCT_ADDED
+    }
+
+    Type type;
+    @JsonIgnore
+    Long sellerId;
+    Long orderId;
+    Long inventoryId;
+    String status;
+    String previousStatus;
+    Double amount;
+    Integer quantity;
+    Boolean lowStock;
+    @NonFinal
+    @Setter
+    Long seq;
+
+    public static SellerDashboardEvent orderCreated(Long sellerId, Long orderId, double totalAmount) {
+        return new SellerDashboardEvent(Type.ORDER_CREATED, sellerId, orderId, null, "PENDING_PAYMENT", null,
+                totalAmount, null, null, null);
+    }
+
+    public static SellerDashboardEvent statusChanged(Long sellerId, Long orderId, String previousStatus, String status) {
+        return new SellerDashboardEvent(Type.ORDER_STATUS_CHANGED, sellerId, orderId, null, status, previousStatus,
+                null, null, null, null);
+    }
+
+    // amount is the revenue added by this payment
+    public static SellerDashboardEvent revenueChanged(Long sellerId, Long orderId, double amount) {
+        return new SellerDashboardEvent(Type.REVENUE_CHANGED, sellerId, orderId, null, null, null, amount, null, null, null);
+    }
+
+    // Sent only when an item crosses its threshold, in either direction
+    public static SellerDashboardEvent lowStock(Long sellerId, Long inventoryId, int quantity, boolean lowStock) {
+        return new SellerDashboardEvent(Type.LOW_STOCK, sellerId, null, inventoryId, null, null, null, quantity, lowStock, null);
+    }
+
+    public static SellerDashboardEvent productAdded(Long sellerId, Long inventoryId, int quantity, boolean lowStock) {
+        return new SellerDashboardEvent(Type.PRODUCT_ADDED, sellerId, null, inventoryId, null, null, null, quantity, lowStock, null);
+    }
+
+    // Whether moving an item's stock from before to after puts it in or takes it out of low stock
+    public static boolean crossesThreshold(int before, int after, int threshold) {
+        return (before <= threshold) != (after <= threshold);
+    }
+}
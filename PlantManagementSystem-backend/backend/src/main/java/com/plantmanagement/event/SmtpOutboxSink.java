@@ -0,0 +1,61 @@
+package com.plantmanagement.event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plantmanagement.entity.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Local stand-in for an SMTP relay: renders the customer and seller notification mails and
+ * appends them to an mbox file instead of sending them. Message-ID carries the event id, which
+ * is what a real relay integration would dedupe on.
+ */
+@Component
+public class SmtpOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path mailbox;
+    private final String domain;
+
+    public SmtpOutboxSink(ObjectMapper objectMapper,
+                          @Value("${outbox.smtp.mailbox-file:${java.io.tmpdir}/greenmed-outbox.mbox}") String mailbox,
+                          @Value("${outbox.smtp.domain:greenmed.local}") String domain) {
+        this.objectMapper = objectMapper;
+        this.mailbox = Path.of(mailbox);
+        this.domain = domain;
+    }
+
+    @Override
+    public String name() {
+        return "smtp";
+    }
+
+    @Override
+    public void deliver(OutboxEvent event) throws IOException {
+        JsonNode order = objectMapper.readTree(event.getPayload());
+        String subject = switch (event.getEventType()) {
+            case ORDER_CREATED -> "Order #" + event.getAggregateId() + " placed";
+            case ORDER_PAID -> "Order #" + event.getAggregateId() + " paid";
+            case ORDER_STATUS_CHANGED -> "Order #" + event.getAggregateId() + " is now " + order.path("status").asText();
+        };
+        String message = "From MAILER-DAEMON " + ZonedDateTime.now().format(DateTimeFormatter.RFC_1123_DATE_TIME) + "\n"
+                + "Message-ID: <outbox-" + event.getId() + "@" + domain + ">\n"
+                + "From: orders@" + domain + "\n"
+                + "To: customer-" + order.path("customerId").asText() + "@" + domain + "\n"
+                + "Cc: seller-" + order.path("sellerId").asText() + "@" + domain + "\n"
+                + "Subject: " + subject + "\n\n"
+                + event.getPayload() + "\n\n";
+        synchronized (this) {
+            Files.writeString(mailbox, message, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+}
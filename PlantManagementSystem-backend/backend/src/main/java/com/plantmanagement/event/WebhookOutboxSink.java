@@ -0,0 +1,54 @@
+package com.plantmanagement.event;
+
+import com.plantmanagement.entity.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Stand-in webhook: POSTs the event payload as JSON to outbox.webhook.url. X-Event-Id lets the
+ * receiver drop repeats. Anything but a 2xx is a failure and is retried by the dispatcher.
+ */
+@Component
+public class WebhookOutboxSink implements OutboxSink {
+
+    private final HttpClient httpClient;
+    private final String url;
+    private final Duration timeout;
+
+    public WebhookOutboxSink(@Value("${outbox.webhook.url:}") String url,
+                             @Value("${outbox.webhook.timeout-ms:2000}") long timeoutMs) {
+        this.url = url;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void deliver(OutboxEvent event) throws IOException, InterruptedException {
+        if (url.isBlank()) {
+            throw new IllegalStateException("outbox.webhook.url is not set");
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("X-Event-Id", String.valueOf(event.getId()))
+                .header("X-Event-Type", event.getEventType().name())
+                .POST(HttpRequest.BodyPublishers.ofString(event.getPayload()))
+                .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Webhook answered " + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.plantmanagement.repository;
+
+import com.plantmanagement.entity.FlashSalePendingDecrement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FlashSalePendingRepository extends JpaRepository<FlashSalePendingDecrement, Long> {
+
+    // Locking read so the flusher sees (and later deletes) exactly the committed rows it applies
+    @Query(value = "SELECT * FROM flash_sale_pending ORDER BY id LIMIT :batchSize FOR UPDATE", nativeQuery = true)
+    List<FlashSalePendingDecrement> lockBatch(@Param("batchSize") int batchSize);
+
+    @Query(value = "SELECT * FROM flash_sale_pending WHERE inventory_id = :inventoryId ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<FlashSalePendingDecrement> lockByInventoryId(@Param("inventoryId") Long inventoryId);
+
+    @Query("SELECT COALESCE(SUM(p.quantity), 0) FROM FlashSalePendingDecrement p WHERE p.inventoryId = :inventoryId")
+    long sumPending(@Param("inventoryId") Long inventoryId);
+
+    @Modifying
+    @Query("DELETE FROM FlashSalePendingDecrement p WHERE p.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
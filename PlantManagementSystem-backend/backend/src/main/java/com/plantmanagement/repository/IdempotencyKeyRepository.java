@@ -0,0 +1,50 @@
+package com.plantmanagement.repository;
+
+import com.plantmanagement.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    // Returns 1 if this request now owns the key, 0 if another request already does
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO idempotency_keys (key_digest, fingerprint, status, created_at, expires_at) "
+            + "VALUES (:keyDigest, :fingerprint, 'IN_PROGRESS', :now, :leaseUntil)", nativeQuery = true)
+    int claim(@Param("keyDigest") String keyDigest, @Param("fingerprint") String fingerprint,
+              @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyKey k SET k.status = com.plantmanagement.entity.IdempotencyKey$Status.COMPLETED, "
+            + "k.responseStatus = :responseStatus, k.contentType = :contentType, k.responseBody = :responseBody, "
+            + "k.expiresAt = :expiresAt WHERE k.keyDigest = :keyDigest "
+            + "AND k.status = com.plantmanagement.entity.IdempotencyKey$Status.IN_PROGRESS")
+    int complete(@Param("keyDigest") String keyDigest, @Param("responseStatus") int responseStatus,
+                 @Param("contentType") String contentType, @Param("responseBody") byte[] responseBody,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyKey k WHERE k.keyDigest = :keyDigest "
+            + "AND k.status = com.plantmanagement.entity.IdempotencyKey$Status.IN_PROGRESS")
+    int release(@Param("keyDigest") String keyDigest);
+
+    // Expired completions and abandoned leases both make the key free again
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyKey k WHERE k.keyDigest = :keyDigest AND k.expiresAt <= :now")
+    int deleteIfExpired(@Param("keyDigest") String keyDigest, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM idempotency_keys WHERE expires_at <= :now LIMIT :batchSize", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
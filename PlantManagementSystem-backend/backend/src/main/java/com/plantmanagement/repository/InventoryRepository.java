@@ -1,21 +1,59 @@
 package com.plantmanagement.repository;
 
 import com.plantmanagement.entity.Inventory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+public interface InventoryRepository extends JpaRepository<Inventory, Long>, InventoryStockRepository {
     
     List<Inventory> findBySellerId(Long sellerId);
 
+    // Keyset page by id; the seller_id foreign-key index already ends in the primary key
+    List<Inventory> findBySellerIdAndIdGreaterThanOrderByIdAsc(Long sellerId, Long afterId, Limit limit);
+
     // New methods for seller dashboard
     @Query("SELECT COUNT(i) FROM Inventory i WHERE i.seller.id = :sellerId AND i.quantity <= i.lowStockThreshold")
     long countLowStockItemsForSeller(@Param("sellerId") Long sellerId);
 
     long countBySellerId(Long sellerId);
+
+    // {id, seller_id, quantity, low_stock_threshold}; inside a transaction that just changed them, the new values
+    @Query(value = "SELECT id, seller_id, quantity, low_stock_threshold FROM inventory WHERE id IN (:ids)", nativeQuery = true)
+    List<Object[]> findStockLevels(@Param("ids") Collection<Long> ids);
+
+    // {id, seller_id, quantity, low_stock_threshold, quantity restocked} for the items of the given orders
+    @Query(value = "SELECT i.id, i.seller_id, i.quantity, i.low_stock_threshold, r.qty FROM inventory i JOIN "
+            + "(SELECT inventory_item_id, SUM(quantity) AS qty FROM order_items WHERE order_id IN (:orderIds) "
+            + "GROUP BY inventory_item_id) r ON i.id = r.inventory_item_id", nativeQuery = true)
+    List<Object[]> findRestockedLevels(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT i.id FROM Inventory i WHERE i.flashSale = true")
+    List<Long> findFlashSaleIds();
+
+    @Modifying
+    @Query("UPDATE Inventory i SET i.flashSale = :enabled, i.version = i.version + 1 WHERE i.id = :id")
+    int updateFlashSale(@Param("id") Long id, @Param("enabled") boolean enabled);
+
+    @Query("SELECT i.seller.id FROM Inventory i WHERE i.id = :id")
+    Optional<Long> findSellerIdById(@Param("id") Long id);
+
+    // Waits for checkouts that already decremented the row, and holds off new ones until commit
+    @Query(value = "SELECT quantity FROM inventory WHERE id = :id FOR UPDATE", nativeQuery = true)
+    int lockQuantityById(@Param("id") Long id);
+
+    // Puts back the stock of whole orders in one statement, summed per inventory row
+    @Modifying
+    @Query(value = "UPDATE inventory i JOIN (SELECT inventory_item_id, SUM(quantity) AS qty FROM order_items "
+            + "WHERE order_id IN (:orderIds) GROUP BY inventory_item_id) r ON i.id = r.inventory_item_id "
+            + "SET i.quantity = i.quantity + r.qty, i.version = i.version + 1", nativeQuery = true)
+    int restockOrders(@Param("orderIds") Collection<Long> orderIds);
 }
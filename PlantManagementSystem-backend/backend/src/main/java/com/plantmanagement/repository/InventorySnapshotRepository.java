@@ -0,0 +1,9 @@
+package com.plantmanagement.repository;
+
+import com.plantmanagement.entity.InventorySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InventorySnapshotRepository extends JpaRepository<InventorySnapshot, Long> {
+}
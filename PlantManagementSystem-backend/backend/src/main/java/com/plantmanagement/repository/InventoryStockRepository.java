@@ -0,0 +1,22 @@
+package com.plantmanagement.repository;
+
+import java.util.List;
+import java.util.Map;
+
+// JDBC-level stock updates that Spring Data derived queries cannot express as a single batch
+public interface InventoryStockRepository {
+
+    /**
+     * Decrements each item's quantity only if enough stock remains and the item is not in
+     * flash-sale mode, sent as one JDBC batch. Returns the ids whose guarded update matched no
+     * row (missing, insufficient stock, or switched to flash-sale mode since it was read).
+     */
+    List<Long> decrementStock(Map<Long, Integer> quantities);
+
+    /**
+     * Batch decrement for stock already handed out by the flash-sale counters. A row that holds
+     * less than its decrement is clamped at zero instead of going negative; those ids are
+     * returned so the caller can report the oversell.
+     */
+    List<Long> applyDecrements(Map<Long, Integer> quantities);
+}
@@ -0,0 +1,63 @@
+package com.plantmanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Picked up by Spring Data as the implementation of the InventoryStockRepository fragment
+@RequiredArgsConstructor
+public class InventoryStockRepositoryImpl implements InventoryStockRepository {
+
+    private static final String DECREMENT_SQL =
+            "UPDATE inventory SET quantity = quantity - ?, version = version + 1 WHERE id = ? AND quantity >= ? AND flash_sale = 0";
+
+    private static final String APPLY_SQL =
+            "UPDATE inventory SET quantity = quantity - ?, version = version + 1 WHERE id = ? AND quantity >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> decrementStock(Map<Long, Integer> quantities) {
+        // Ascending id order so concurrent checkouts lock shared rows in the same order
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantities).entrySet());
+        int[] updated = jdbcTemplate.batchUpdate(DECREMENT_SQL, lines, lines.size(), (statement, line) -> {
+            statement.setInt(1, line.getValue());
+            statement.setLong(2, line.getKey());
+            statement.setInt(3, line.getValue());
+        })[0];
+
+        List<Long> failed = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            if (updated[i] == 0) {
+                failed.add(lines.get(i).getKey());
+            }
+        }
+        return failed;
+    }
+
+    @Override
+    public List<Long> applyDecrements(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantities).entrySet());
+        int[] updated = jdbcTemplate.batchUpdate(APPLY_SQL, lines, lines.size(), (statement, line) -> {
+            statement.setInt(1, line.getValue());
+            statement.setLong(2, line.getKey());
+            statement.setInt(3, line.getValue());
+        })[0];
+
+        List<Long> clamped = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            if (updated[i] == 0) {
+                clamped.add(lines.get(i).getKey());
+            }
+        }
+        if (!clamped.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE inventory SET quantity = 0, version = version + 1 WHERE id = ?", clamped, clamped.size(),
+                    (statement, id) -> statement.setLong(1, id));
+        }
+        return clamped;
+    }
+}
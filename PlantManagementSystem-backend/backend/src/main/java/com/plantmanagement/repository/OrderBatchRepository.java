@@ -0,0 +1,15 @@
+package com.plantmanagement.repository;
+
+import com.plantmanagement.entity.Order;
+
+import java.util.List;
+
+// JDBC-level order inserts for checkouts that create several orders at once
+public interface OrderBatchRepository {
+
+    /**
+     * Inserts the orders' shipping addresses, the orders and their items as three JDBC batches
+     * and writes the generated ids back onto the given entities. The entities stay unmanaged.
+     */
+    void insertAll(List<Order> orders);
+}
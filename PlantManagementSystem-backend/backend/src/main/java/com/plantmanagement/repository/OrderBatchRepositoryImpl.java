@@ -0,0 +1,94 @@
+package com.plantmanagement.repository;
+
+import com.plantmanagement.entity.Order;
+import com.plantmanagement.entity.OrderItem;
+import com.plantmanagement.entity.ShippingAddress;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+// Picked up by Spring Data as the implementation of the OrderBatchRepository fragment
+@RequiredArgsConstructor
+public class OrderBatchRepositoryImpl implements OrderBatchRepository {
+
+    private static final String INSERT_ADDRESS =
+            "INSERT INTO shipping_address (street, city, state, zip_code, country, user_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ORDER =
+            "INSERT INTO orders (customer_id, seller_id, shipping_address_id, total_amount, status, order_date) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ITEM =
+            "INSERT INTO order_items (order_id, inventory_item_id, quantity, price) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        // Runs on the connection of the surrounding transaction, so everything commits or rolls back together
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            List<Order> withAddress = orders.stream().filter(order -> order.getShippingAddress() != null).toList();
+            if (!withAddress.isEmpty()) {
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_ADDRESS, Statement.RETURN_GENERATED_KEYS)) {
+                    for (Order order : withAddress) {
+                        ShippingAddress address = order.getShippingAddress();
+                        statement.setString(1, address.getStreet());
+                        statement.setString(2, address.getCity());
+                        statement.setString(3, address.getState());
+                        statement.setString(4, address.getZipCode());
+                        statement.setString(5, address.getCountry());
+                        statement.setLong(6, address.getUser().getId());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    assignKeys(statement, withAddress, (order, id) -> order.getShippingAddress().setId(id));
+                }
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_ORDER, Statement.RETURN_GENERATED_KEYS)) {
+                for (Order order : orders) {
+                    statement.setLong(1, order.getCustomer().getId());
+                    statement.setLong(2, order.getSeller().getId());
+                    statement.setObject(3, order.getShippingAddress() != null ? order.getShippingAddress().getId() : null);
+                    statement.setDouble(4, order.getTotalAmount());
+                    statement.setString(5, order.getStatus().name());
+                    statement.setTimestamp(6, Timestamp.valueOf(order.getOrderDate()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                assignKeys(statement, orders, Order::setId);
+            }
+
+            List<OrderItem> items = orders.stream().flatMap(order -> order.getItems().stream()).toList();
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_ITEM, Statement.RETURN_GENERATED_KEYS)) {
+                for (OrderItem item : items) {
+                    statement.setLong(1, item.getOrder().getId());
+                    statement.setLong(2, item.getInventoryItem().getId());
+                    statement.setInt(3, item.getQuantity());
+                    statement.setDouble(4, item.getPrice());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                assignKeys(statement, items, OrderItem::setId);
+            }
+            return null;
+        });
+    }
+
+    // Generated keys come back in batch order
+    private static <T> void assignKeys(Statement statement, List<T> rows, BiConsumer<T, Long> setId) throws SQLException {
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            for (T row : rows) {
+                if (!keys.next()) {
+                    throw new SQLException("Missing generated key for batch insert");
+                }
+                setId.accept(row, keys.getLong(1));
+            }
+        }
+    }
+}
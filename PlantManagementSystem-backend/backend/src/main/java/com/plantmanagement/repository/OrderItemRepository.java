@@ -1,9 +1,26 @@
 package com.plantmanagement.repository;
 
+import com.plantmanagement.dto.OrderItemRow;
 import com.plantmanagement.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
-}
\ No newline at end of file
+
+    // Items for a whole page of orders in one statement
+    @Query("SELECT new com.plantmanagement.dto.OrderItemRow(oi.order.id, i.name, oi.quantity, oi.price) "
+            + "FROM OrderItem oi JOIN oi.inventoryItem i WHERE oi.order.id IN :orderIds ORDER BY oi.id")
+    List<OrderItemRow> findRowsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    // {inventory item id, total quantity} for the given orders, limited to the given items
+    @Query("SELECT oi.inventoryItem.id, SUM(oi.quantity) FROM OrderItem oi "
+            + "WHERE oi.order.id IN :orderIds AND oi.inventoryItem.id IN :inventoryIds GROUP BY oi.inventoryItem.id")
+    List<Object[]> sumQuantitiesByItem(@Param("orderIds") Collection<Long> orderIds,
+                                       @Param("inventoryIds") Collection<Long> inventoryIds);
+}
@@ -1,20 +1,85 @@
 package com.plantmanagement.repository;
 
+import com.plantmanagement.dto.OrderListRow;
 import com.plantmanagement.entity.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderBatchRepository {
 
-    List<Order> findByCustomerId(Long customerId);
+    // Order list read path: one statement for the orders, joined to exactly the columns the DTOs need
+    String ORDER_ROW = "SELECT new com.plantmanagement.dto.OrderListRow(o.id, c.name, c.email, c.phoneNumber, s.name, s.shopName, "
+            + "o.totalAmount, o.status, o.orderDate, a.id, a.street, a.city, a.state, a.zipCode, a.country) "
+            + "FROM Order o JOIN o.customer c JOIN o.seller s LEFT JOIN o.shippingAddress a ";
 
-    List<Order> findBySellerId(Long sellerId);
+    @Query(ORDER_ROW + "WHERE c.id = :customerId")
+    List<OrderListRow> findRowsByCustomerId(@Param("customerId") Long customerId);
+
+    @Query(ORDER_ROW + "WHERE s.id = :sellerId")
+    List<OrderListRow> findRowsBySellerId(@Param("sellerId") Long sellerId);
+
+    @Query(ORDER_ROW)
+    List<OrderListRow> findAllRows();
+
+    @Query(ORDER_ROW + "WHERE o.id IN :ids ORDER BY o.id")
+    List<OrderListRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(ORDER_ROW + "WHERE s.id = :sellerId ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderListRow> findRecentRowsBySellerId(@Param("sellerId") Long sellerId, Limit limit);
+
+    // Keyset pages, newest first. Each seeks on an (owner, order_date, id) index and never uses OFFSET.
+    @Query(ORDER_ROW + "WHERE c.id = :customerId ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderListRow> findPageByCustomer(@Param("customerId") Long customerId, Limit limit);
+
+    @Query(ORDER_ROW + "WHERE c.id = :customerId AND (o.orderDate < :orderDate OR (o.orderDate = :orderDate AND o.id < :id)) ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderListRow> findPageByCustomerAfter(@Param("customerId") Long customerId, @Param("orderDate") LocalDateTime orderDate,
+                                               @Param("id") Long id, Limit limit);
+
+    @Query(ORDER_ROW + "WHERE s.id = :sellerId ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderListRow> findPageBySeller(@Param("sellerId") Long sellerId, Limit limit);
+
+    @Query(ORDER_ROW + "WHERE s.id = :sellerId AND (o.orderDate < :orderDate OR (o.orderDate = :orderDate AND o.id < :id)) ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderListRow> findPageBySellerAfter(@Param("sellerId") Long sellerId, @Param("orderDate") LocalDateTime orderDate,
+                                             @Param("id") Long id, Limit limit);
+
+    @Query(ORDER_ROW + "ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderListRow> findPage(Limit limit);
+
+    @Query(ORDER_ROW + "WHERE o.orderDate < :orderDate OR (o.orderDate = :orderDate AND o.id < :id) ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderListRow> findPageAfter(@Param("orderDate") LocalDateTime orderDate, @Param("id") Long id, Limit limit);
+
+    // {id, seller_id} of the given orders still pending payment, locked
+    @Query(value = "SELECT id, seller_id FROM orders WHERE id IN (:ids) AND status = 'PENDING_PAYMENT' FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockPendingPayment(@Param("ids") Collection<Long> ids);
+
+    // {id, status, seller_id} of the given orders, locked; sellerId null means any seller (admin)
+    @Query(value = "SELECT id, status, seller_id FROM orders WHERE id IN (:ids) AND (:sellerId IS NULL OR seller_id = :sellerId) "
+            + "ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockStatuses(@Param("ids") Collection<Long> ids, @Param("sellerId") Long sellerId);
+
+    @Query(value = "SELECT id FROM orders WHERE status = :status AND (:sellerId IS NULL OR seller_id = :sellerId) "
+            + "ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsByStatus(@Param("status") String status, @Param("sellerId") Long sellerId, @Param("limit") int limit);
+
+    // Set-based transition, guarded by the statuses the target may be reached from
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :next, o.version = o.version + 1 WHERE o.id IN :ids AND o.status IN :sources")
+    int transitionStatuses(@Param("ids") Collection<Long> ids, @Param("sources") Collection<Order.OrderStatus> sources,
+                           @Param("next") Order.OrderStatus next);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :status, o.version = o.version + 1 WHERE o.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") Order.OrderStatus status);
 
     @Query("SELECT COUNT(o) FROM Order o WHERE o.status != 'PENDING_PAYMENT' AND o.status != 'CANCELLED'")
     long countPaidOrders();
@@ -23,8 +88,6 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT COUNT(o) FROM Order o WHERE o.seller.id = :sellerId AND (o.status = 'PROCESSING' OR o.status = 'SHIPPED')")
     long countActiveOrdersForSeller(@Param("sellerId") Long sellerId);
 
-    List<Order> findTop5BySellerIdOrderByOrderDateDesc(Long sellerId);
-
     @Query("SELECT COUNT(o) > 0 FROM Order o WHERE o.customer.id = :customerId AND o.seller.id = :sellerId AND o.status != 'PENDING_PAYMENT' AND o.status != 'CANCELLED'")
     boolean hasCustomerPurchasedFromSeller(@Param("customerId") Long customerId, @Param("sellerId") Long sellerId);
 }
@@ -0,0 +1,27 @@
+package com.plantmanagement.repository;
+
+import com.plantmanagement.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findByStatusAndIdGreaterThanOrderByIdAsc(OutboxEvent.Status status, Long afterId, Limit limit);
+
+    @Query("SELECT e.status, COUNT(e) FROM OutboxEvent e GROUP BY e.status")
+    List<Object[]> countByStatus();
+
+    // Dead letters go back to the queue with a fresh attempt budget
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = com.plantmanagement.entity.OutboxEvent$Status.PENDING, e.attempts = 0, "
+            + "e.availableAt = :now WHERE e.status = com.plantmanagement.entity.OutboxEvent$Status.DEAD")
+    int requeueDead(@Param("now") LocalDateTime now);
+}
@@ -2,6 +2,7 @@ package com.plantmanagement.repository;
 
 import com.plantmanagement.entity.Review;
 import com.plantmanagement.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,6 +12,9 @@ import java.util.List;
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     List<Review> findBySeller(User seller);
 
+    // Keyset page, newest first; ids grow with createdAt so the seller_id index serves the seek
+    List<Review> findBySellerIdAndIdLessThanOrderByIdDesc(Long sellerId, Long beforeId, Limit limit);
+
     List<Review> findByReviewer(User reviewer);
 
     boolean existsBySellerAndReviewer(User seller, User reviewer);
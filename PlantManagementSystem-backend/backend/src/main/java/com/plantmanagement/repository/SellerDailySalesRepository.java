@@ -0,0 +1,14 @@
+package com.plantmanagement.repository;
+
+import com.plantmanagement.entity.SellerDailySales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SellerDailySalesRepository extends JpaRepository<SellerDailySales, SellerDailySales.Key> {
+
+    List<SellerDailySales> findBySellerIdAndDayBetweenOrderByDayAsc(Long sellerId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,20 @@
+package com.plantmanagement.repository;
+
+import com.plantmanagement.entity.SellerItemDailySales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SellerItemDailySalesRepository extends JpaRepository<SellerItemDailySales, SellerItemDailySales.Key> {
+
+    // {inventory id, item name, units sold, revenue} over the range, best sellers first
+    @Query(value = "SELECT f.inventory_id, i.name, SUM(f.units_sold) AS units, SUM(f.revenue) FROM seller_item_daily_sales f "
+            + "LEFT JOIN inventory i ON i.id = f.inventory_id WHERE f.seller_id = :sellerId AND f.day BETWEEN :from AND :to "
+            + "GROUP BY f.inventory_id, i.name ORDER BY units DESC, f.inventory_id", nativeQuery = true)
+    List<Object[]> sumByItem(@Param("sellerId") Long sellerId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
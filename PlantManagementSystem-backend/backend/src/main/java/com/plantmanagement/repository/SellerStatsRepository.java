@@ -0,0 +1,9 @@
+package com.plantmanagement.repository;
+
+import com.plantmanagement.entity.SellerStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SellerStatsRepository extends JpaRepository<SellerStats, Long> {
+}
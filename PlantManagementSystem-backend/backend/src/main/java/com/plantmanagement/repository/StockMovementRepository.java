@@ -0,0 +1,27 @@
+package com.plantmanagement.repository;
+
+import com.plantmanagement.entity.StockMovement;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    // History, newest first, seeking on the (inventory_id, id) index
+    List<StockMovement> findByInventoryIdAndIdLessThanOrderByIdDesc(Long inventoryId, Long beforeId, Limit limit);
+
+    // {sum of deltas, number of movements} after the snapshot
+    @Query("SELECT COALESCE(SUM(m.quantityDelta), 0), COUNT(m) FROM StockMovement m WHERE m.inventoryId = :inventoryId AND m.id > :afterId")
+    List<Object[]> sumTail(@Param("inventoryId") Long inventoryId, @Param("afterId") Long afterId);
+
+    // Newest movement old enough that every transaction holding a lower id has finished
+    @Query(value = "SELECT id FROM stock_movements WHERE created_at <= :before ORDER BY created_at DESC, id DESC LIMIT 1",
+            nativeQuery = true)
+    Long findWatermark(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,40 @@
+package com.plantmanagement.repository;
+
+import com.plantmanagement.entity.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO stock_reservations (order_id, expires_at, created_at) "
+            + "SELECT o.id, :expiresAt, :createdAt FROM orders o WHERE o.id IN (:orderIds)", nativeQuery = true)
+    void insertAll(@Param("orderIds") Collection<Long> orderIds, @Param("expiresAt") LocalDateTime expiresAt,
+                   @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.orderId = :orderId")
+    int deleteByOrderId(@Param("orderId") Long orderId);
+
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.orderId IN :orderIds")
+    int deleteByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    // Rows other sweepers (or a paying customer) hold are skipped rather than waited on
+    @Query(value = "SELECT order_id FROM stock_reservations WHERE expires_at <= :now ORDER BY expires_at LIMIT :batchSize FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> lockExpired(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    // Taken before the order rows, the same lock order the sweeper and payment use
+    @Query(value = "SELECT order_id FROM stock_reservations WHERE order_id IN (:orderIds) ORDER BY order_id FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+}
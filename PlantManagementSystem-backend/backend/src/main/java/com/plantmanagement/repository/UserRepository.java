@@ -1,9 +1,14 @@
 package com.plantmanagement.repository;
 
 import com.plantmanagement.entity.User;
+import com.plantmanagement.security.AuthenticatedUser;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,9 +18,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    // Short write for a login rehash, so no transaction is open while the password is hashed
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    @Query("SELECT new com.plantmanagement.security.AuthenticatedUser(u.id, u.email, u.userType, u.isActive, u.applicationStatus) FROM User u WHERE u.id = :id")
+    Optional<AuthenticatedUser> findIdentityById(@Param("id") Long id);
+
     @Query("SELECT u FROM User u WHERE u.userType = 'SELLER' AND u.applicationStatus = 'APPROVED'")
     List<User> findActiveSellers();
 
+    List<User> findByUserType(User.UserRole userType);
+
+    List<User> findByUserTypeAndIdGreaterThanOrderByIdAsc(User.UserRole userType, Long afterId, Limit limit);
+
     // New queries for the dashboard
     @Query("SELECT COUNT(u) FROM User u WHERE u.userType = 'CUSTOMER'")
     long countTotalCustomers();
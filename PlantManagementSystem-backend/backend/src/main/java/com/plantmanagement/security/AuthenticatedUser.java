@@ -0,0 +1,30 @@
+package com.plantmanagement.security;
+
+import com.plantmanagement.entity.User;
+import lombok.Value;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+// The signed-in user as seen by controllers, resolved from the JWT and the identity cache
+@Value
+public class AuthenticatedUser implements AuthenticatedPrincipal {
+    Long id;
+    String email;
+    User.UserRole role;
+    Boolean active;
+    User.ApplicationStatus applicationStatus;
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public boolean isAdmin() {
+        return role == User.UserRole.ADMIN;
+    }
+
+    // Mirrors the checks done at login so deactivation or rejection takes effect on live tokens too
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(active)
+                && (role != User.UserRole.SELLER || applicationStatus == User.ApplicationStatus.APPROVED);
+    }
+}
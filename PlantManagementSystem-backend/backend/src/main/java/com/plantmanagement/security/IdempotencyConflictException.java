@@ -0,0 +1,15 @@
+package com.plantmanagement.security;
+
+import lombok.Getter;
+
+// Thrown when an Idempotency-Key cannot be honoured: 422 for a different request body, 409 while the first attempt runs
+@Getter
+public class IdempotencyConflictException extends RuntimeException {
+
+    private final int status;
+
+    public IdempotencyConflictException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+}
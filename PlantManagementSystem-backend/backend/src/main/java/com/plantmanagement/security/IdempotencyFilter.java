@@ -0,0 +1,223 @@
+package com.plantmanagement.security;
+
+import com.plantmanagement.entity.IdempotencyKey;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Honours the Idempotency-Key header on the configured POST endpoints. The first request with a
+ * key runs normally and its response is stored; retries with the same key and body get that
+ * response back instead of running again. Keys are scoped to the authenticated user.
+ *
+ * Registered as a plain servlet filter, so it runs after the security chain has set the principal.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_BODY_BYTES = 1024 * 1024;
+
+    private final IdempotencyStore idempotencyStore;
+    private final List<String> paths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore,
+                             @Value("${idempotency.paths:/api/orders,/api/orders/checkout,/api/orders/*/pay,/api/payment/order/*}") List<String> paths) {
+        this.idempotencyStore = idempotencyStore;
+        this.paths = paths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return paths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = request.getHeader(HEADER);
+        if (!StringUtils.hasText(key) || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, 400, "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters.");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            writeError(response, 413, "Request body too large for an idempotent request.");
+            return;
+        }
+
+        String keyDigest = sha256(user.getId() + ":" + key);
+        String fingerprint = fingerprint(request, body);
+
+        CompletableFuture<IdempotencyKey> mine = new CompletableFuture<>();
+        CompletableFuture<IdempotencyKey> running = idempotencyStore.joinInFlight(keyDigest, mine);
+        try {
+            if (running != null) {
+                IdempotencyKey first = idempotencyStore.await(running);
+                if (first == null) {
+                    throw new IdempotencyConflictException(409, "The first request with this Idempotency-Key failed; please retry.");
+                }
+                idempotencyStore.checkFingerprint(first, fingerprint);
+                replay(first, response);
+                return;
+            }
+            run(keyDigest, fingerprint, new CachedBodyRequest(request, body), response, filterChain, mine);
+        } catch (IdempotencyConflictException e) {
+            writeError(response, e.getStatus(), e.getMessage());
+        } finally {
+            // A no-op when already completed; wakes local duplicates if the attempt threw
+            mine.complete(null);
+            idempotencyStore.leave(keyDigest, mine);
+        }
+    }
+
+    private void run(String keyDigest, String fingerprint, HttpServletRequest request, HttpServletResponse response,
+                     FilterChain filterChain, CompletableFuture<IdempotencyKey> mine) throws ServletException, IOException {
+        Optional<IdempotencyKey> existing = idempotencyStore.claim(keyDigest, fingerprint);
+        if (existing.isPresent()) {
+            mine.complete(existing.get());
+            replay(existing.get(), response);
+            return;
+        }
+
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, captured);
+        } catch (IOException | ServletException | RuntimeException e) {
+            idempotencyStore.release(keyDigest);
+            throw e;
+        }
+        // Server errors are not final answers: free the key so a retry runs the request again
+        if (captured.getStatus() >= 500) {
+            idempotencyStore.release(keyDigest);
+        } else {
+            mine.complete(idempotencyStore.complete(keyDigest, fingerprint, captured.getStatus(),
+                    captured.getContentType(), captured.getContentAsByteArray()));
+        }
+        captured.copyBodyToResponse();
+    }
+
+    private static void replay(IdempotencyKey stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.getResponseStatus());
+        response.setHeader("Idempotent-Replayed", "true");
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        byte[] body = stored.getResponseBody();
+        if (body != null && body.length > 0) {
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    private static void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(message);
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        String target = request.getMethod() + " " + request.getRequestURI()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "") + "\n";
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(target.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(sha256.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /** The body has already been read for the fingerprint, so the controller reads this copy. */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+    }
+}
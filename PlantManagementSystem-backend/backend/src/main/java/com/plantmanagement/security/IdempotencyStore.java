@@ -0,0 +1,153 @@
+package com.plantmanagement.security;
+
+import com.plantmanagement.entity.IdempotencyKey;
+import com.plantmanagement.repository.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency keys shared by every backend node through the idempotency_keys table. The first
+ * request claims a key with an INSERT IGNORE lease and stores its response; duplicates on the
+ * same node wait on the in-flight future, duplicates on other nodes poll the row until it is
+ * completed. Expired rows are deleted in bounded batches so the table stays small.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Duration ttl;
+    private final Duration lease;
+    private final long waitTimeoutMs;
+    private final int purgeBatchSize;
+
+    private final ConcurrentHashMap<String, CompletableFuture<IdempotencyKey>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(IdempotencyKeyRepository idempotencyKeyRepository,
+                            @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                            @Value("${idempotency.lease-seconds:120}") long leaseSeconds,
+                            @Value("${idempotency.wait-timeout-ms:10000}") long waitTimeoutMs,
+                            @Value("${idempotency.purge-batch-size:5000}") int purgeBatchSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    // Returns the future of a request already running under this key on this node, or registers ours
+    public CompletableFuture<IdempotencyKey> joinInFlight(String keyDigest, CompletableFuture<IdempotencyKey> mine) {
+        return inFlight.putIfAbsent(keyDigest, mine);
+    }
+
+    public void leave(String keyDigest, CompletableFuture<IdempotencyKey> mine) {
+        inFlight.remove(keyDigest, mine);
+    }
+
+    // Waits for the local first attempt; null means it failed and released the key
+    public IdempotencyKey await(CompletableFuture<IdempotencyKey> running) {
+        try {
+            return running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw stillRunning();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw stillRunning();
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Claims the key for this request (empty result), or returns the completed response of the
+     * request that already used it. Waits while that request is still running on another node.
+     */
+    public Optional<IdempotencyKey> claim(String keyDigest, String fingerprint) {
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            if (idempotencyKeyRepository.claim(keyDigest, fingerprint, now, now.plus(lease)) == 1) {
+                return Optional.empty();
+            }
+            IdempotencyKey existing = idempotencyKeyRepository.findById(keyDigest).orElse(null);
+            if (existing == null) {
+                continue; // released or purged in between; try to claim again
+            }
+            if (!existing.getExpiresAt().isAfter(now)) {
+                idempotencyKeyRepository.deleteIfExpired(keyDigest, now);
+                continue;
+            }
+            checkFingerprint(existing, fingerprint);
+            if (existing.getStatus() == IdempotencyKey.Status.COMPLETED) {
+                return Optional.of(existing);
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw stillRunning();
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw stillRunning();
+            }
+        }
+    }
+
+    public IdempotencyKey complete(String keyDigest, String fingerprint, int status, String contentType, byte[] body) {
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyKeyRepository.complete(keyDigest, status, contentType, body, now.plus(ttl));
+        IdempotencyKey completed = new IdempotencyKey();
+        completed.setKeyDigest(keyDigest);
+        completed.setFingerprint(fingerprint);
+        completed.setStatus(IdempotencyKey.Status.COMPLETED);
+        completed.setResponseStatus(status);
+        completed.setContentType(contentType);
+        completed.setResponseBody(body);
+        completed.setCreatedAt(now);
+        completed.setExpiresAt(now.plus(ttl));
+        return completed;
+    }
+
+    // The attempt failed without a response worth replaying, so a retry may run it again
+    public void release(String keyDigest) {
+        idempotencyKeyRepository.release(keyDigest);
+    }
+
+    public void checkFingerprint(IdempotencyKey existing, String fingerprint) {
+        if (!existing.getFingerprint().equals(fingerprint)) {
+            throw new IdempotencyConflictException(422, "This Idempotency-Key was already used for a different request.");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:600000}",
+            initialDelayString = "${idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = idempotencyKeyRepository.deleteExpired(now, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private static IdempotencyConflictException stillRunning() {
+        return new IdempotencyConflictException(409, "A request with this Idempotency-Key is still being processed.");
+    }
+}
@@ -1,7 +1,6 @@
 // filepath: backend/src/main/java/com/plantmanagement/security/JwtAuthenticationFilter.java
 package com.plantmanagement.security;
 
-import com.plantmanagement.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,7 +23,9 @@ import java.util.Collections;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
-    private final JwtUtil jwtUtil;
+    private final JwtTokenVerifier jwtTokenVerifier;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final UserIdentityCache userIdentityCache;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -34,15 +35,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = parseJwt(request);
             
-            if (jwt != null && jwtUtil.isTokenValid(jwt)) {
-                String email = jwtUtil.extractEmail(jwt);
-                String role = jwtUtil.extractRole(jwt);
-                String userId = jwtUtil.extractUserId(jwt);
+            VerifiedClaims claims = jwt != null ? jwtTokenVerifier.verify(jwt).orElse(null) : null;
+            
+            if (claims != null && tokenRevocationStore.isRevoked(claims.getTokenDigest())) {
+                log.debug("Rejected revoked token for {}", claims.getEmail());
+                claims = null;
+            }
+            
+            AuthenticatedUser user = null;
+            if (claims != null && StringUtils.hasText(claims.getUserId())) {
+                user = userIdentityCache.get(Long.valueOf(claims.getUserId()))
+                        .filter(AuthenticatedUser::isEnabled)
+                        .orElse(null);
+                if (user == null) {
+                    log.debug("Rejected token for missing or disabled account {}", claims.getEmail());
+                }
+            }
+            
+            if (user != null) {
+                String email = user.getEmail();
+                String role = user.getRole().name();
+                String userId = user.getId().toString();
                 
                 if (StringUtils.hasText(email)) {
                     SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role);
                     UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(email, null, Collections.singletonList(authority));
+                        new UsernamePasswordAuthenticationToken(user, null, Collections.singletonList(authority));
                     
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     
@@ -0,0 +1,89 @@
+package com.plantmanagement.security;
+
+import com.plantmanagement.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verifies JWTs once and caches the verified claims by token digest until the token expires,
+ * so repeat requests from the same session skip parsing and HMAC verification.
+ */
+@Slf4j
+@Component
+public class JwtTokenVerifier {
+
+    private final JwtUtil jwtUtil;
+    private final int maxSize;
+    private final ConcurrentHashMap<String, VerifiedClaims> cache = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public JwtTokenVerifier(JwtUtil jwtUtil,
+                            MeterRegistry meterRegistry,
+                            @Value("${jwt.claims-cache.max-size:10000}") int maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.maxSize = maxSize;
+        this.hits = Counter.builder("jwt.claims.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("jwt.claims.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("jwt.claims.cache.size", cache, ConcurrentHashMap::size).register(meterRegistry);
+        Gauge.builder("jwt.claims.cache.hit.ratio", this, JwtTokenVerifier::hitRatio).register(meterRegistry);
+    }
+
+    public Optional<VerifiedClaims> verify(String token) {
+        String digest = JwtUtil.digest(token);
+        long now = System.currentTimeMillis();
+
+        VerifiedClaims cached = cache.get(digest);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+            cache.remove(digest, cached);
+            misses.increment();
+            return Optional.empty();
+        }
+
+        misses.increment();
+        try {
+            VerifiedClaims claims = jwtUtil.verify(token, digest);
+            if (cache.size() >= maxSize) {
+                evict(now);
+            }
+            cache.put(digest, claims);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected JWT: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void invalidate(String tokenDigest) {
+        cache.remove(tokenDigest);
+    }
+
+    // Drop expired entries first; if the cache is still full, drop an arbitrary tenth of it
+    private void evict(long now) {
+        cache.values().removeIf(claims -> claims.isExpired(now));
+        int excess = cache.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<String> keys = cache.keySet().iterator();
+        while (excess-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+}
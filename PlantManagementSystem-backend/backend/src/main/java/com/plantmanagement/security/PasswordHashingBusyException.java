@@ -0,0 +1,9 @@
+package com.plantmanagement.security;
+
+// Thrown when the password hashing pool is saturated; mapped to 503 so clients back off and retry
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Too many sign-in requests right now. Please try again shortly.");
+    }
+}
@@ -0,0 +1,55 @@
+package com.plantmanagement.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over SHA-256 hex token digests. Reads take no lock and allocate nothing: the two
+ * base hashes are parsed straight out of the digest characters, which are already uniformly random.
+ */
+class TokenBloomFilter {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final int capacity;
+
+    TokenBloomFilter(int expectedInsertions) {
+        this.capacity = Math.max(expectedInsertions, 1024);
+        long m = (long) Math.ceil(-capacity * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((m + 63) / 64));
+        this.bitCount = bits.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) m / capacity * Math.log(2)));
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    void add(String digest) {
+        long h1 = Long.parseUnsignedLong(digest, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(digest, 16, 32, 16);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String digest) {
+        long h1 = Long.parseUnsignedLong(digest, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(digest, 16, 32, 16);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
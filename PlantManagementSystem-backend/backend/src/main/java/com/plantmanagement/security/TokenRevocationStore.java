@@ -0,0 +1,106 @@
+package com.plantmanagement.security;
+
+import com.plantmanagement.entity.RevokedToken;
+import com.plantmanagement.repository.RevokedTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked tokens keyed by digest, each kept only until the token would have expired anyway.
+ * The revoked_tokens table is shared by every backend node; each node mirrors the live rows in
+ * memory behind a Bloom filter so the common "not revoked" check is lock- and allocation-free.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationStore {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JwtTokenVerifier jwtTokenVerifier;
+
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile TokenBloomFilter bloomFilter = new TokenBloomFilter(0);
+    private volatile LocalDateTime lastSync = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public boolean isRevoked(String tokenDigest) {
+        if (!bloomFilter.mightContain(tokenDigest)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(tokenDigest);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    public void revoke(VerifiedClaims claims) {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.save(new RevokedToken(claims.getTokenDigest(), toDateTime(claims.getExpiresAtMillis()), now));
+        remember(claims.getTokenDigest(), claims.getExpiresAtMillis());
+        jwtTokenVerifier.invalidate(claims.getTokenDigest());
+        log.info("Token revoked until {}", toDateTime(claims.getExpiresAtMillis()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> live = revokedTokenRepository.findByExpiresAtAfter(now);
+        live.forEach(token -> remember(token.getTokenDigest(), toMillis(token.getExpiresAt())));
+        lastSync = now;
+        log.info("Loaded {} revoked tokens", live.size());
+    }
+
+    // Picks up revocations written by other nodes. The look-back overlap absorbs clock skew; re-adding is idempotent.
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:10000}",
+            initialDelayString = "${jwt.revocation.sync-interval-ms:10000}")
+    public void syncFromTable() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(lastSync.minusMinutes(1), now)
+                .forEach(token -> remember(token.getTokenDigest(), toMillis(token.getExpiresAt())));
+        lastSync = now;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:600000}",
+            initialDelayString = "${jwt.revocation.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        rebuildBloomFilter();
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired revoked tokens", deleted);
+        }
+    }
+
+    private synchronized void remember(String tokenDigest, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis() || revoked.put(tokenDigest, expiresAtMillis) != null) {
+            return;
+        }
+        if (revoked.size() > bloomFilter.capacity()) {
+            rebuildBloomFilter();
+        } else {
+            bloomFilter.add(tokenDigest);
+        }
+    }
+
+    private synchronized void rebuildBloomFilter() {
+        TokenBloomFilter rebuilt = new TokenBloomFilter(revoked.size() * 2);
+        revoked.keySet().forEach(rebuilt::add);
+        bloomFilter = rebuilt;
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
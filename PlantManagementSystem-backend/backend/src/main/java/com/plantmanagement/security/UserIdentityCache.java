@@ -0,0 +1,102 @@
+package com.plantmanagement.security;
+
+import com.plantmanagement.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived cache of user identity (id, email, role, active and approval status) so the auth
+ * filter can build the principal without a users-table lookup on every request. Entries are
+ * invalidated explicitly when an account changes and otherwise expire after the TTL.
+ *
+ * Invalidation waits for the changing transaction to commit, and a load that raced with any
+ * invalidation is not kept, so a reader can never re-cache the pre-commit state.
+ */
+@Slf4j
+@Component
+public class UserIdentityCache {
+
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+    private final int maxSize;
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserIdentityCache(UserRepository userRepository,
+                             @Value("${security.identity-cache.ttl-ms:30000}") long ttlMillis,
+                             @Value("${security.identity-cache.max-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    public Optional<AuthenticatedUser> get(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.expiresAt > now) {
+            return Optional.of(entry.user);
+        }
+
+        long generation = invalidations.get();
+        Optional<AuthenticatedUser> loaded = userRepository.findIdentityById(userId);
+        if (loaded.isPresent()) {
+            if (entries.size() >= maxSize) {
+                trim(now);
+            }
+            Entry fresh = new Entry(loaded.get(), now + ttlMillis);
+            entries.put(userId, fresh);
+            // An invalidation since the read began may have missed this entry: drop it again
+            if (invalidations.get() != generation) {
+                entries.remove(userId, fresh);
+            }
+        } else {
+            entries.remove(userId);
+        }
+        return loaded;
+    }
+
+    // Inside a transaction the entry is dropped after commit, when the change is visible to reloads
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        } else {
+            evict(userId);
+        }
+    }
+
+    private void evict(Long userId) {
+        invalidations.incrementAndGet();
+        entries.remove(userId);
+    }
+
+    // Drop expired entries first; if the cache is still full, drop an arbitrary tenth of it so the
+    // next misses insert without scanning again
+    private void trim(long now) {
+        entries.values().removeIf(e -> e.expiresAt <= now);
+        if (entries.size() < maxSize) {
+            return;
+        }
+        int excess = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<Long> keys = entries.keySet().iterator();
+        while (excess-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry(AuthenticatedUser user, long expiresAt) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.plantmanagement.security;
+
+import lombok.Value;
+
+// Immutable result of a single signature + expiry check on a JWT
+@Value
+public class VerifiedClaims {
+    String tokenDigest;
+    String email;
+    String userId;
+    String role;
+    long expiresAtMillis;
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -1,10 +1,12 @@
 package com.plantmanagement.service;
 
-import com.plantmanagement.entity.Order;
+import com.plantmanagement.dto.CursorPage;
 import com.plantmanagement.entity.User;
-import com.plantmanagement.repository.OrderRepository;
 import com.plantmanagement.repository.UserRepository;
+import com.plantmanagement.security.UserIdentityCache;
+import com.plantmanagement.util.PageCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -16,7 +18,7 @@ import java.util.stream.Collectors;
 public class AdminService {
 
     private final UserRepository userRepository;
-    private final OrderRepository orderRepository;
+    private final UserIdentityCache userIdentityCache;
 
     public List<User> getPendingSellers() {
         return userRepository.findAll().stream()
@@ -31,6 +33,7 @@ public class AdminService {
         if (seller.getUserType() == User.UserRole.SELLER) {
             seller.setApplicationStatus(User.ApplicationStatus.APPROVED);
             userRepository.save(seller);
+            userIdentityCache.invalidate(sellerId);
         } else {
             throw new RuntimeException("User is not a seller");
         }
@@ -42,15 +45,20 @@ public class AdminService {
         if (seller.getUserType() == User.UserRole.SELLER) {
             seller.setApplicationStatus(User.ApplicationStatus.REJECTED);
             userRepository.save(seller);
+            userIdentityCache.invalidate(sellerId);
         } else {
             throw new RuntimeException("User is not a seller");
         }
     }
 
     public List<User> getAllSellers() {
-        return userRepository.findAll().stream()
-                .filter(user -> user.getUserType() == User.UserRole.SELLER)
-                .collect(Collectors.toList());
+        return userRepository.findByUserType(User.UserRole.SELLER);
+    }
+
+    public CursorPage<User> getAllSellers(PageCursor after, int limit) {
+        List<User> rows = userRepository.findByUserTypeAndIdGreaterThanOrderByIdAsc(
+                User.UserRole.SELLER, after == null ? 0L : after.getId(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, seller -> PageCursor.ofId(seller.getId()));
     }
 
     public void updateSellerActiveStatus(Long sellerId, Boolean isActive) {
@@ -59,12 +67,9 @@ public class AdminService {
         if (seller.getUserType() == User.UserRole.SELLER) {
             seller.setIsActive(isActive);
             userRepository.save(seller);
+            userIdentityCache.invalidate(sellerId);
         } else {
             throw new RuntimeException("User is not a seller");
         }
     }
-
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
-    }
-}
\ No newline at end of file
+}
@@ -7,16 +7,17 @@ import com.plantmanagement.dto.SignupRequest;
 import com.plantmanagement.dto.UserResponse;
 import com.plantmanagement.entity.User;
 import com.plantmanagement.repository.UserRepository;
+import com.plantmanagement.security.JwtTokenVerifier;
+import com.plantmanagement.security.PasswordHashingExecutor;
+import com.plantmanagement.security.TokenRevocationStore;
+import com.plantmanagement.security.VerifiedClaims;
 import com.plantmanagement.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
-import java.util.Set;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -24,10 +25,14 @@ import java.util.Set;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
     private final JwtUtil jwtUtil;
-    private final Set<String> blacklistedTokens = new HashSet<>();
+    private final JwtTokenVerifier jwtTokenVerifier;
+    private final TokenRevocationStore tokenRevocationStore;
 
+    // Hashing takes up to the executor's queue wait plus a bcrypt round, so it runs with no
+    // transaction (and no pooled connection) open; the lookup and the save are each their own
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserResponse signup(SignupRequest request) {
         if (userRepository.findByEmail(request.getEmail()).isPresent()) {
             throw new RuntimeException("Email already exists");
@@ -54,7 +59,7 @@ public class AuthService {
         User user = new User();
         user.setName(request.getName());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingExecutor.encode(request.getPassword()));
         user.setUserType(role);
         user.setIsActive(true);
 
@@ -82,6 +87,7 @@ public class AuthService {
     // ... (the rest of the AuthService remains the same, but ensure UserResponse is
     // updated)
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LoginResponse login(LoginRequest request) {
         log.info("Login attempt for email: {}", request.getEmail());
 
@@ -94,7 +100,7 @@ public class AuthService {
         log.info("User found: {}, Role: {}, Active: {}, ApplicationStatus: {}",
                 user.getEmail(), user.getUserType(), user.getIsActive(), user.getApplicationStatus());
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingExecutor.matches(request.getPassword(), user.getPassword())) {
             log.error("Password mismatch for email: {}", request.getEmail());
             throw new RuntimeException("Invalid email or password");
         }
@@ -115,6 +121,14 @@ public class AuthService {
             throw new RuntimeException(message);
         }
 
+        // Transparently move the stored hash to the configured cost: hash first, then one short update
+        if (passwordHashingExecutor.needsRehash(user.getPassword())) {
+            String rehashed = passwordHashingExecutor.encode(request.getPassword());
+            userRepository.updatePassword(user.getId(), rehashed);
+            user.setPassword(rehashed);
+            log.info("Rehashed password for email: {}", request.getEmail());
+        }
+
         try {
             String token = jwtUtil.generateToken(user.getEmail(), user.getId().toString(), user.getUserType().name());
             UserResponse userResponse = new UserResponse(user);
@@ -130,27 +144,25 @@ public class AuthService {
         if (token.startsWith("Bearer ")) {
             token = token.substring(7);
         }
-        blacklistedTokens.add(token);
-        log.info("Token blacklisted successfully");
+        // An invalid or already expired token needs no revocation entry
+        jwtTokenVerifier.verify(token).ifPresent(tokenRevocationStore::revoke);
     }
 
     public UserResponse getCurrentUser(String token) {
         if (token.startsWith("Bearer ")) {
             token = token.substring(7);
         }
-        if (blacklistedTokens.contains(token)) {
+        VerifiedClaims claims = jwtTokenVerifier.verify(token)
+                .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
+        if (tokenRevocationStore.isRevoked(claims.getTokenDigest())) {
             throw new RuntimeException("Token is no longer valid");
         }
-        if (!jwtUtil.isTokenValid(token)) {
-            throw new RuntimeException("Invalid or expired token");
-        }
-        String email = jwtUtil.extractEmail(token);
-        User user = userRepository.findByEmail(email)
+        User user = userRepository.findById(Long.valueOf(claims.getUserId()))
                 .orElseThrow(() -> new RuntimeException("User not found"));
         return new UserResponse(user);
     }
 
     public boolean isTokenBlacklisted(String token) {
-        return blacklistedTokens.contains(token);
+        return tokenRevocationStore.isRevoked(JwtUtil.digest(token));
     }
 }
\ No newline at end of file
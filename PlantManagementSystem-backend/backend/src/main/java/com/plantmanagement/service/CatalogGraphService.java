@@ -0,0 +1,207 @@
+package com.plantmanagement.service;
+
+import com.plantmanagement.dto.DiseaseResponse;
+import com.plantmanagement.dto.MedicineResponse;
+import com.plantmanagement.dto.PlantResponse;
+import com.plantmanagement.event.CatalogChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Id-keyed adjacency lists for the plant, disease and medicine relationships that the catalog
+ * only stores as comma-separated names ({@code Disease.affectedPlants}, {@code Medicine.targetDiseases}).
+ * Names are resolved once when an entry is added, so a lookup costs O(degree). New entries are
+ * linked incrementally; a catalog reload or a replaced entry rebuilds the whole graph.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogGraphService {
+
+    private static final long[] NONE = new long[0];
+
+    private final CatalogStore catalogStore;
+
+    private volatile Graph graph = new Graph();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @EventListener
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.isReload() || !graph.add(event.getRecord())) {
+            rebuild();
+        }
+    }
+
+    public long[] diseaseIdsAffecting(Long plantId) {
+        return graph.plantDiseases.getOrDefault(plantId, NONE);
+    }
+
+    public Optional<List<DiseaseResponse>> getDiseasesForPlant(Long plantId) {
+        return resolve(catalogStore.plants(), plantId, graph.plantDiseases, catalogStore.diseases());
+    }
+
+    public Optional<List<PlantResponse>> getPlantsForDisease(Long diseaseId) {
+        return resolve(catalogStore.diseases(), diseaseId, graph.diseasePlants, catalogStore.plants());
+    }
+
+    public Optional<List<MedicineResponse>> getMedicinesForDisease(Long diseaseId) {
+        return resolve(catalogStore.diseases(), diseaseId, graph.diseaseMedicines, catalogStore.medicines());
+    }
+
+    public Optional<List<DiseaseResponse>> getDiseasesForMedicine(Long medicineId) {
+        return resolve(catalogStore.medicines(), medicineId, graph.medicineDiseases, catalogStore.diseases());
+    }
+
+    // Empty when the owning entry does not exist, so controllers can answer 404
+    private static <R> Optional<List<R>> resolve(CatalogSnapshot<?> owners, Long id,
+                                                 Map<Long, long[]> edges, CatalogSnapshot<R> targets) {
+        if (!owners.getById().containsKey(id)) {
+            return Optional.empty();
+        }
+        long[] targetIds = edges.getOrDefault(id, NONE);
+        List<R> related = new ArrayList<>(targetIds.length);
+        for (long targetId : targetIds) {
+            R target = targets.getById().get(targetId);
+            if (target != null) {
+                related.add(target);
+            }
+        }
+        return Optional.of(related);
+    }
+
+    private synchronized void rebuild() {
+        Graph rebuilt = new Graph();
+        catalogStore.plants().getItems().forEach(rebuilt::add);
+        catalogStore.diseases().getItems().forEach(rebuilt::add);
+        catalogStore.medicines().getItems().forEach(rebuilt::add);
+        graph = rebuilt;
+        log.info("Catalog graph built: {} plant-disease and {} disease-medicine links",
+                rebuilt.edgeCount(rebuilt.plantDiseases), rebuilt.edgeCount(rebuilt.diseaseMedicines));
+    }
+
+    static String normalizeName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> splitNames(String names) {
+        List<String> result = new ArrayList<>();
+        if (names != null) {
+            for (String name : names.split("[,;]")) {
+                if (!name.isBlank()) {
+                    result.add(normalizeName(name));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writers are serialized by the service; readers only touch the adjacency maps, whose arrays
+     * are replaced rather than mutated.
+     */
+    private static final class Graph {
+
+        final Map<Long, long[]> plantDiseases = new ConcurrentHashMap<>();
+        final Map<Long, long[]> diseasePlants = new ConcurrentHashMap<>();
+        final Map<Long, long[]> diseaseMedicines = new ConcurrentHashMap<>();
+        final Map<Long, long[]> medicineDiseases = new ConcurrentHashMap<>();
+
+        // Writer-only name indexes used to link entries added later
+        private final Map<String, long[]> plantsByName = new HashMap<>();
+        private final Map<String, long[]> diseasesByName = new HashMap<>();
+        private final Map<String, long[]> diseasesByAffectedPlant = new HashMap<>();
+        private final Map<String, long[]> medicinesByTargetDisease = new HashMap<>();
+        private final Set<String> added = new HashSet<>();
+
+        // Returns false if the entry was already linked, in which case the caller rebuilds
+        boolean add(Object record) {
+            if (record instanceof PlantResponse plant) {
+                if (!added.add("plant:" + plant.getId())) {
+                    return false;
+                }
+                Set<String> names = new HashSet<>();
+                if (plant.getName() != null) {
+                    names.add(normalizeName(plant.getName()));
+                }
+                if (plant.getScientificName() != null) {
+                    names.add(normalizeName(plant.getScientificName()));
+                }
+                for (String name : names) {
+                    append(plantsByName, name, plant.getId());
+                    for (long diseaseId : diseasesByAffectedPlant.getOrDefault(name, NONE)) {
+                        link(plantDiseases, plant.getId(), diseasePlants, diseaseId);
+                    }
+                }
+            } else if (record instanceof DiseaseResponse disease) {
+                if (!added.add("disease:" + disease.getId())) {
+                    return false;
+                }
+                if (disease.getName() != null) {
+                    String name = normalizeName(disease.getName());
+                    append(diseasesByName, name, disease.getId());
+                    for (long medicineId : medicinesByTargetDisease.getOrDefault(name, NONE)) {
+                        link(diseaseMedicines, disease.getId(), medicineDiseases, medicineId);
+                    }
+                }
+                for (String plantName : splitNames(disease.getAffectedPlants())) {
+                    append(diseasesByAffectedPlant, plantName, disease.getId());
+                    for (long plantId : plantsByName.getOrDefault(plantName, NONE)) {
+                        link(plantDiseases, plantId, diseasePlants, disease.getId());
+                    }
+                }
+            } else if (record instanceof MedicineResponse medicine) {
+                if (!added.add("medicine:" + medicine.getId())) {
+                    return false;
+                }
+                for (String diseaseName : splitNames(medicine.getTargetDiseases())) {
+                    append(medicinesByTargetDisease, diseaseName, medicine.getId());
+                    for (long diseaseId : diseasesByName.getOrDefault(diseaseName, NONE)) {
+                        link(diseaseMedicines, diseaseId, medicineDiseases, medicine.getId());
+                    }
+                }
+            }
+            return true;
+        }
+
+        long edgeCount(Map<Long, long[]> edges) {
+            return edges.values().stream().mapToLong(ids -> ids.length).sum();
+        }
+
+        private static void link(Map<Long, long[]> forward, long from, Map<Long, long[]> backward, long to) {
+            if (append(forward, from, to)) {
+                append(backward, to, from);
+            }
+        }
+
+        private static <K> boolean append(Map<K, long[]> edges, K key, long id) {
+            long[] current = edges.getOrDefault(key, NONE);
+            for (long existing : current) {
+                if (existing == id) {
+                    return false;
+                }
+            }
+            long[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = id;
+            edges.put(key, grown);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.plantmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plantmanagement.dto.ImportReport;
+import com.plantmanagement.util.CsvReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bulk import of plants, diseases and medicines from streamed CSV (with a header row) or NDJSON.
+ * Rows are parsed one at a time, validated, and written with JDBC batch inserts that the MySQL
+ * driver rewrites into multi-row statements, so memory stays bounded by the batch size. Ids
+ * still come from the tables' auto-increment columns since the batch never needs them back.
+ */
+@Slf4j
+@Service
+public class CatalogImportService {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    private static final int MAX_REPORTED_ERRORS = 200;
+    private static final int MAX_RETAINED_JOBS = 20;
+    private static final int MAX_VARCHAR_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogStore catalogStore;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    private final Map<String, ImportReport> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImportReport> eldest) {
+            return size() > MAX_RETAINED_JOBS;
+        }
+    });
+
+    public CatalogImportService(JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                CatalogStore catalogStore,
+                                ObjectMapper objectMapper,
+                                @Value("${catalog.import.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.catalogStore = catalogStore;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /** Target table layout per import type: column, whether it is required, whether it is a LOB. */
+    public enum ImportType {
+        PLANTS("plants", new Column[]{
+                new Column("name", true, false), new Column("scientific_name", false, false),
+                new Column("category", true, false), new Column("description", false, true),
+                new Column("growth_season", false, false), new Column("growth_rate", false, false),
+                new Column("water_requirements", false, false), new Column("light_requirements", false, false),
+                new Column("soil_type", false, false), new Column("care_instructions", false, true)}),
+        DISEASES("diseases", new Column[]{
+                new Column("name", true, false), new Column("description", false, true),
+                new Column("symptoms", false, true), new Column("cause", false, false),
+                new Column("prevention", false, true), new Column("treatment", false, true),
+                new Column("severity", false, false), new Column("affected_plants", false, false)}),
+        MEDICINES("medicines", new Column[]{
+                new Column("name", true, false), new Column("type", false, false),
+                new Column("active_ingredient", false, false), new Column("description", false, true),
+                new Column("dosage", false, false), new Column("application_method", false, false),
+                new Column("target_diseases", false, false), new Column("safety_instructions", false, true),
+                new Column("manufacturer", false, false)});
+
+        private final String table;
+        private final Column[] columns;
+        private final String insertSql;
+
+        ImportType(String table, Column[] columns) {
+            this.table = table;
+            this.columns = columns;
+            StringBuilder names = new StringBuilder();
+            StringBuilder placeholders = new StringBuilder();
+            for (Column column : columns) {
+                names.append(names.length() == 0 ? "" : ", ").append(column.name);
+                placeholders.append(placeholders.length() == 0 ? "?" : ", ?");
+            }
+            this.insertSql = "INSERT INTO " + table + " (" + names + ") VALUES (" + placeholders + ")";
+        }
+
+        public static ImportType fromPath(String value) {
+            for (ImportType type : values()) {
+                if (type.table.equalsIgnoreCase(value)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown catalog type: " + value);
+        }
+    }
+
+    private record Column(String name, boolean required, boolean lob) {
+    }
+
+    public Optional<ImportReport> getReport(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public List<ImportReport> getRecentReports() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    /**
+     * Imports rows from the stream on the calling thread. Each batch commits on its own, so rows
+     * written before a failure stay imported; the report says how far the import got.
+     */
+    public ImportReport importCatalog(ImportType type, String format, String jobId, InputStream body) {
+        ImportReport report = new ImportReport(jobId != null ? jobId : UUID.randomUUID().toString(),
+                type.table, format);
+        if (jobs.putIfAbsent(report.getJobId(), report) != null) {
+            throw new IllegalArgumentException("Import job id already in use: " + report.getJobId());
+        }
+
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            if (NDJSON.equals(format)) {
+                readNdjson(type, reader, report, batch);
+            } else {
+                readCsv(type, reader, report, batch);
+            }
+            flush(type, batch, report);
+            report.setStatus(ImportReport.Status.COMPLETED);
+        } catch (Exception e) {
+            log.warn("Import {} of {} failed after {} rows: {}", report.getJobId(), type.table, report.getRowsRead(), e.getMessage());
+            report.setFailure(e.getMessage());
+            report.setStatus(ImportReport.Status.FAILED);
+        } finally {
+            report.setFinishedAt(LocalDateTime.now());
+            if (report.getRowsImported() > 0) {
+                catalogStore.reload();
+            }
+        }
+        log.info("Import {} of {}: {} read, {} imported, {} rejected", report.getJobId(), type.table,
+                report.getRowsRead(), report.getRowsImported(), report.getRowsRejected());
+        return report;
+    }
+
+    private void readCsv(ImportType type, BufferedReader reader, ImportReport report, List<Object[]> batch) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        // Position of each target column in the file, or -1 when the file does not have it
+        int[] positions = new int[type.columns.length];
+        for (int c = 0; c < type.columns.length; c++) {
+            positions[c] = -1;
+            for (int h = 0; h < header.size(); h++) {
+                if (normalizeHeader(header.get(h)).equals(normalizeHeader(type.columns[c].name))) {
+                    positions[c] = h;
+                }
+            }
+        }
+
+        String[] values = new String[type.columns.length];
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            report.setRowsRead(report.getRowsRead() + 1);
+            for (int c = 0; c < values.length; c++) {
+                values[c] = positions[c] >= 0 && positions[c] < record.size() ? record.get(positions[c]) : null;
+            }
+            accept(type, values, csv.getRecordLine(), report, batch);
+        }
+    }
+
+    private void readNdjson(ImportType type, BufferedReader reader, ImportReport report, List<Object[]> batch) throws IOException {
+        Map<String, Integer> columnIndex = new HashMap<>();
+        for (int c = 0; c < type.columns.length; c++) {
+            columnIndex.put(normalizeHeader(type.columns[c].name), c);
+        }
+
+        String[] values = new String[type.columns.length];
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            report.setRowsRead(report.getRowsRead() + 1);
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                reject(report, lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            if (!node.isObject()) {
+                reject(report, lineNumber, "Expected a JSON object");
+                continue;
+            }
+            Arrays.fill(values, null);
+            for (Map.Entry<String, JsonNode> entry : (Iterable<Map.Entry<String, JsonNode>>) node::fields) {
+                Integer c = columnIndex.get(normalizeHeader(entry.getKey()));
+                if (c != null && !entry.getValue().isNull()) {
+                    values[c] = entry.getValue().asText();
+                }
+            }
+            accept(type, values, lineNumber, report, batch);
+        }
+    }
+
+    private void accept(ImportType type, String[] values, long line, ImportReport report, List<Object[]> batch) {
+        Object[] row = new Object[values.length];
+        for (int c = 0; c < values.length; c++) {
+            Column column = type.columns[c];
+            String value = values[c] == null || values[c].isBlank() ? null : values[c].trim();
+            if (value == null && column.required) {
+                reject(report, line, column.name + " is required");
+                return;
+            }
+            if (value != null && !column.lob && value.length() > MAX_VARCHAR_LENGTH) {
+                reject(report, line, column.name + " is longer than " + MAX_VARCHAR_LENGTH + " characters");
+                return;
+            }
+            row[c] = value;
+        }
+        batch.add(row);
+        if (batch.size() >= batchSize) {
+            flush(type, batch, report);
+        }
+    }
+
+    private void flush(ImportType type, List<Object[]> batch, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(type.insertSql, batch));
+        report.setRowsImported(report.getRowsImported() + batch.size());
+        batch.clear();
+    }
+
+    private static void reject(ImportReport report, long line, String message) {
+        report.setRowsRejected(report.getRowsRejected() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new ImportReport.RowError(line, message));
+        }
+    }
+
+    // "Scientific Name", "scientificName" and "scientific_name" all match the same column
+    private static String normalizeHeader(String header) {
+        return header.replaceAll("[\\s_\\-]", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,322 @@
+package com.plantmanagement.service;
+
+import com.plantmanagement.dto.DiseaseResponse;
+import com.plantmanagement.dto.MedicineResponse;
+import com.plantmanagement.dto.PlantResponse;
+import com.plantmanagement.dto.SearchResult;
+import com.plantmanagement.event.CatalogChangedEvent;
+import com.plantmanagement.util.TextTokenizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Embedded inverted index over the plant, disease and medicine catalog with BM25 ranking,
+ * prefix matching on the last query term and single-edit fuzzy matching for unknown terms.
+ * It is rebuilt from the catalog snapshot when the catalog reloads and extended in place when
+ * a single entry is created.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogSearchService {
+
+    public static final String PLANT = "plant";
+    public static final String DISEASE = "disease";
+    public static final String MEDICINE = "medicine";
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float PREFIX_WEIGHT = 0.7f;
+    private static final float FUZZY_WEIGHT = 0.5f;
+    private static final int MAX_EXPANSIONS = 32;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private final CatalogStore catalogStore;
+
+    private volatile SearchIndex index = new SearchIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @EventListener
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.isReload()) {
+            rebuild();
+        } else {
+            index.add(event.getRecord());
+        }
+    }
+
+    public List<SearchResult> search(String query, String type, int limit) {
+        return index.search(TextTokenizer.tokenize(query), type, Math.max(1, Math.min(limit, 100)));
+    }
+
+    private synchronized void rebuild() {
+        long start = System.nanoTime();
+        SearchIndex rebuilt = new SearchIndex();
+        catalogStore.plants().getItems().forEach(rebuilt::add);
+        catalogStore.diseases().getItems().forEach(rebuilt::add);
+        catalogStore.medicines().getItems().forEach(rebuilt::add);
+        index = rebuilt;
+        log.info("Search index built: {} documents, {} terms in {} ms",
+                rebuilt.liveDocs(), rebuilt.terms.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /** Append-only postings list for one term: parallel doc id / weighted term frequency arrays. */
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] freqs = new float[4];
+        int size;
+
+        void add(int doc, float freq) {
+            if (size > 0 && docs[size - 1] == doc) {
+                freqs[size - 1] += freq;
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+    }
+
+    private static final class Scratch {
+        float[] scores = new float[0];
+        int[] touched = new int[0];
+    }
+
+    private static final class SearchIndex {
+
+        private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+        // Every single-character deletion of a term maps back to the terms that produce it
+        private final Map<String, List<String>> deletions = new HashMap<>();
+        private final Map<String, Integer> docByKey = new HashMap<>();
+        private final BitSet deleted = new BitSet();
+        private String[] types = new String[16];
+        private Object[] records = new Object[16];
+        private float[] lengths = new float[16];
+        private int docCount;
+        private int deletedCount;
+        private double totalLength;
+
+        int liveDocs() {
+            return docCount - deletedCount;
+        }
+
+        void add(Object record) {
+            if (record instanceof PlantResponse plant) {
+                add(PLANT, plant.getId(), plant, new Object[]{
+                        plant.getName(), 3f, plant.getScientificName(), 2f, plant.getCategory(), 1f,
+                        plant.getDescription(), 1f, plant.getCareInstructions(), 1f});
+            } else if (record instanceof DiseaseResponse disease) {
+                add(DISEASE, disease.getId(), disease, new Object[]{
+                        disease.getName(), 3f, disease.getSymptoms(), 1.5f, disease.getDescription(), 1f,
+                        disease.getTreatment(), 1f, disease.getCause(), 1f, disease.getAffectedPlants(), 1f});
+            } else if (record instanceof MedicineResponse medicine) {
+                add(MEDICINE, medicine.getId(), medicine, new Object[]{
+                        medicine.getName(), 3f, medicine.getActiveIngredient(), 2f, medicine.getTargetDiseases(), 1.5f,
+                        medicine.getDescription(), 1f, medicine.getType(), 1f});
+            }
+        }
+
+        // fields alternates text and boost
+        private void add(String type, Long id, Object record, Object[] fields) {
+            Map<String, Float> termFreqs = new HashMap<>();
+            float length = 0;
+            for (int i = 0; i < fields.length; i += 2) {
+                float boost = (Float) fields[i + 1];
+                for (String token : TextTokenizer.tokenize((String) fields[i])) {
+                    termFreqs.merge(token, boost, Float::sum);
+                    length += boost;
+                }
+            }
+
+            lock.writeLock().lock();
+            try {
+                Integer previous = docByKey.get(type + ":" + id);
+                if (previous != null) {
+                    deleted.set(previous);
+                    deletedCount++;
+                    totalLength -= lengths[previous];
+                }
+                int doc = docCount++;
+                if (doc == records.length) {
+                    types = Arrays.copyOf(types, doc * 2);
+                    records = Arrays.copyOf(records, doc * 2);
+                    lengths = Arrays.copyOf(lengths, doc * 2);
+                }
+                types[doc] = type;
+                records[doc] = record;
+                lengths[doc] = length;
+                totalLength += length;
+                docByKey.put(type + ":" + id, doc);
+
+                termFreqs.forEach((term, freq) -> terms.computeIfAbsent(term, this::newTerm).add(doc, freq));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private Postings newTerm(String term) {
+            if (term.length() >= MIN_FUZZY_LENGTH) {
+                for (int i = 0; i < term.length(); i++) {
+                    String deletion = term.substring(0, i) + term.substring(i + 1);
+                    deletions.computeIfAbsent(deletion, key -> new ArrayList<>(1)).add(term);
+                }
+            }
+            return new Postings();
+        }
+
+        List<SearchResult> search(List<String> tokens, String type, int limit) {
+            if (tokens.isEmpty()) {
+                return Collections.emptyList();
+            }
+            lock.readLock().lock();
+            try {
+                if (docCount == 0) {
+                    return Collections.emptyList();
+                }
+                Scratch scratch = SCRATCH.get();
+                if (scratch.scores.length < docCount) {
+                    scratch.scores = new float[docCount + docCount / 2];
+                    scratch.touched = new int[docCount + docCount / 2];
+                }
+                float[] scores = scratch.scores;
+                int[] touched = scratch.touched;
+                int touchedCount = 0;
+                float avgLength = (float) (totalLength / Math.max(1, liveDocs()));
+
+                for (int t = 0; t < tokens.size(); t++) {
+                    String token = tokens.get(t);
+                    Postings exact = terms.get(token);
+                    if (exact != null) {
+                        touchedCount = score(exact, 1f, type, avgLength, scores, touched, touchedCount);
+                    }
+                    if (t == tokens.size() - 1) {
+                        int expansions = 0;
+                        NavigableMap<String, Postings> prefixed = terms.subMap(token, false, token + Character.MAX_VALUE, false);
+                        for (Postings postings : prefixed.values()) {
+                            if (expansions++ == MAX_EXPANSIONS) {
+                                break;
+                            }
+                            touchedCount = score(postings, PREFIX_WEIGHT, type, avgLength, scores, touched, touchedCount);
+                        }
+                    }
+                    if (exact == null && token.length() >= MIN_FUZZY_LENGTH) {
+                        for (String candidate : fuzzyCandidates(token)) {
+                            touchedCount = score(terms.get(candidate), FUZZY_WEIGHT, type, avgLength, scores, touched, touchedCount);
+                        }
+                    }
+                }
+                return topResults(scores, touched, touchedCount, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private int score(Postings postings, float weight, String type, float avgLength,
+                          float[] scores, int[] touched, int touchedCount) {
+            int live = liveDocs();
+            float idf = (float) Math.log(1 + (live - postings.size + 0.5) / (postings.size + 0.5));
+            for (int i = 0; i < postings.size; i++) {
+                int doc = postings.docs[i];
+                if (deleted.get(doc) || (type != null && !type.equals(types[doc]))) {
+                    continue;
+                }
+                float tf = postings.freqs[i];
+                float norm = K1 * (1 - B + B * lengths[doc] / avgLength);
+                if (scores[doc] == 0) {
+                    touched[touchedCount++] = doc;
+                }
+                scores[doc] += weight * idf * (tf * (K1 + 1)) / (tf + norm);
+            }
+            return touchedCount;
+        }
+
+        // Terms within one insertion, deletion or substitution of the token
+        private List<String> fuzzyCandidates(String token) {
+            List<String> candidates = new ArrayList<>();
+            addCandidates(candidates, deletions.get(token));
+            for (int i = 0; i < token.length(); i++) {
+                String deletion = token.substring(0, i) + token.substring(i + 1);
+                if (terms.containsKey(deletion) && !candidates.contains(deletion)) {
+                    candidates.add(deletion);
+                }
+                addCandidates(candidates, deletions.get(deletion));
+                if (candidates.size() >= MAX_EXPANSIONS) {
+                    break;
+                }
+            }
+            return candidates;
+        }
+
+        private static void addCandidates(List<String> candidates, List<String> terms) {
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                if (!candidates.contains(term)) {
+                    candidates.add(term);
+                }
+            }
+        }
+
+        private List<SearchResult> topResults(float[] scores, int[] touched, int touchedCount, int limit) {
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, (a, b) -> Float.compare(scores[a], scores[b]));
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = touched[i];
+                if (top.size() < limit) {
+                    top.add(doc);
+                } else if (scores[doc] > scores[top.peek()]) {
+                    top.poll();
+                    top.add(doc);
+                }
+            }
+            List<SearchResult> results = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                int doc = top.poll();
+                results.add(toResult(doc, scores[doc]));
+            }
+            Collections.reverse(results);
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0;
+            }
+            return results;
+        }
+
+        private SearchResult toResult(int doc, float score) {
+            Object record = records[doc];
+            if (record instanceof PlantResponse plant) {
+                return new SearchResult(PLANT, plant.getId(), plant.getName(), score, plant);
+            }
+            if (record instanceof DiseaseResponse disease) {
+                return new SearchResult(DISEASE, disease.getId(), disease.getName(), score, disease);
+            }
+            MedicineResponse medicine = (MedicineResponse) record;
+            return new SearchResult(MEDICINE, medicine.getId(), medicine.getName(), score, medicine);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.plantmanagement.service;
+
+import com.plantmanagement.dto.CursorPage;
+import com.plantmanagement.util.PageCursor;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One immutable generation of a catalog list: the records sorted by id, an id index and the
+ * list already serialized to JSON so responses can be written without ORM or Jackson work.
+ */
+@Getter
+public class CatalogSnapshot<T> {
+
+    private final long version;
+    private final List<T> items;
+    private final Map<Long, T> byId;
+    private final byte[] json;
+    @Getter(AccessLevel.NONE)
+    private final long[] ids; // parallel to items, ascending
+
+    CatalogSnapshot(long version, List<T> items, long[] ids, Map<Long, T> byId, byte[] json) {
+        this.version = version;
+        this.items = Collections.unmodifiableList(items);
+        this.ids = ids;
+        this.byId = Collections.unmodifiableMap(byId);
+        this.json = json;
+    }
+
+    // Keyset page in id order: a binary search for the cursor, then a view of the next entries
+    public CursorPage<T> page(PageCursor after, int limit) {
+        int start = 0;
+        if (after != null) {
+            int found = Arrays.binarySearch(ids, after.getId());
+            start = found >= 0 ? found + 1 : -found - 1;
+        }
+        int end = Math.min(start + limit, ids.length);
+        boolean hasMore = end < ids.length;
+        return new CursorPage<>(items.subList(start, end), hasMore ? PageCursor.ofId(ids[end - 1]).encode() : null, hasMore);
+    }
+
+    public String getETag() {
+        return "\"" + version + "\"";
+    }
+}
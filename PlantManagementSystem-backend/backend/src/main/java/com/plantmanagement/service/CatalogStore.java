@@ -0,0 +1,217 @@
+package com.plantmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plantmanagement.dto.DiseaseResponse;
+import com.plantmanagement.dto.MedicineResponse;
+import com.plantmanagement.dto.PlantResponse;
+import com.plantmanagement.entity.Disease;
+import com.plantmanagement.entity.Medicine;
+import com.plantmanagement.entity.Plant;
+import com.plantmanagement.event.CatalogChangedEvent;
+import com.plantmanagement.repository.DiseaseRepository;
+import com.plantmanagement.repository.MedicineRepository;
+import com.plantmanagement.repository.PlantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-process snapshot of the read-mostly plant, disease and medicine catalog. Reads never touch
+ * the database; every create swaps in a new snapshot atomically, and a periodic reload picks up
+ * rows written by other nodes.
+ */
+@Slf4j
+@Service
+public class CatalogStore {
+
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis());
+    // Low-cardinality values such as category, severity and season repeat across most rows
+    private final Map<String, String> stringPool = new ConcurrentHashMap<>();
+
+    private final Catalog<Plant, PlantResponse> plants;
+    private final Catalog<Disease, DiseaseResponse> diseases;
+    private final Catalog<Medicine, MedicineResponse> medicines;
+
+    public CatalogStore(PlantRepository plantRepository,
+                        DiseaseRepository diseaseRepository,
+                        MedicineRepository medicineRepository,
+                        ObjectMapper objectMapper,
+                        ApplicationEventPublisher eventPublisher) {
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.plants = new Catalog<>("plants", plantRepository::findAll, this::toResponse, PlantResponse::getId);
+        this.diseases = new Catalog<>("diseases", diseaseRepository::findAll, this::toResponse, DiseaseResponse::getId);
+        this.medicines = new Catalog<>("medicines", medicineRepository::findAll, this::toResponse, MedicineResponse::getId);
+    }
+
+    public CatalogSnapshot<PlantResponse> plants() {
+        return plants.snapshot();
+    }
+
+    public CatalogSnapshot<DiseaseResponse> diseases() {
+        return diseases.snapshot();
+    }
+
+    public CatalogSnapshot<MedicineResponse> medicines() {
+        return medicines.snapshot();
+    }
+
+    public PlantResponse addPlant(Plant plant) {
+        return plants.add(plant);
+    }
+
+    public DiseaseResponse addDisease(Disease disease) {
+        return diseases.add(disease);
+    }
+
+    public MedicineResponse addMedicine(Medicine medicine) {
+        return medicines.add(medicine);
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.refresh-interval-ms:300000}",
+            initialDelayString = "${catalog.refresh-interval-ms:300000}")
+    public void reload() {
+        boolean changed = plants.reload();
+        changed |= diseases.reload();
+        changed |= medicines.reload();
+        if (changed) {
+            eventPublisher.publishEvent(new CatalogChangedEvent(null));
+        }
+    }
+
+    private PlantResponse toResponse(Plant plant) {
+        return new PlantResponse(
+                plant.getId(),
+                plant.getName(),
+                plant.getScientificName(),
+                pooled(plant.getCategory()),
+                plant.getDescription(),
+                pooled(plant.getGrowthSeason()),
+                pooled(plant.getGrowthRate()),
+                pooled(plant.getWaterRequirements()),
+                pooled(plant.getLightRequirements()),
+                pooled(plant.getSoilType()),
+                plant.getCareInstructions());
+    }
+
+    private DiseaseResponse toResponse(Disease disease) {
+        return new DiseaseResponse(
+                disease.getId(),
+                disease.getName(),
+                disease.getDescription(),
+                disease.getSymptoms(),
+                disease.getCause(),
+                disease.getPrevention(),
+                disease.getTreatment(),
+                pooled(disease.getSeverity()),
+                disease.getAffectedPlants());
+    }
+
+    private MedicineResponse toResponse(Medicine medicine) {
+        return new MedicineResponse(
+                medicine.getId(),
+                medicine.getName(),
+                pooled(medicine.getType()),
+                medicine.getActiveIngredient(),
+                medicine.getDescription(),
+                medicine.getDosage(),
+                pooled(medicine.getApplicationMethod()),
+                medicine.getTargetDiseases(),
+                medicine.getSafetyInstructions(),
+                pooled(medicine.getManufacturer()));
+    }
+
+    private String pooled(String value) {
+        return value == null ? null : stringPool.computeIfAbsent(value, Function.identity());
+    }
+
+    private byte[] serialize(List<?> items) {
+        try {
+            return objectMapper.writeValueAsBytes(items);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog", e);
+        }
+    }
+
+    /**
+     * One catalog list. Writers (add, reload) are serialized on the instance lock so a reload can
+     * never overwrite a newer add; readers only do a volatile read.
+     */
+    private class Catalog<E, R> {
+
+        private final String name;
+        private final Supplier<List<E>> loader;
+        private final Function<E, R> mapper;
+        private final Function<R, Long> idOf;
+        private volatile CatalogSnapshot<R> current;
+
+        Catalog(String name, Supplier<List<E>> loader, Function<E, R> mapper, Function<R, Long> idOf) {
+            this.name = name;
+            this.loader = loader;
+            this.mapper = mapper;
+            this.idOf = idOf;
+        }
+
+        CatalogSnapshot<R> snapshot() {
+            CatalogSnapshot<R> snapshot = current;
+            return snapshot != null ? snapshot : loadIfAbsent();
+        }
+
+        private synchronized CatalogSnapshot<R> loadIfAbsent() {
+            if (current == null) {
+                reload();
+            }
+            return current;
+        }
+
+        synchronized R add(E entity) {
+            R record = mapper.apply(entity);
+            List<R> items = new ArrayList<>(snapshot().getItems());
+            items.removeIf(existing -> idOf.apply(existing).equals(idOf.apply(record)));
+            items.add(record);
+            publish(items);
+            eventPublisher.publishEvent(new CatalogChangedEvent(record));
+            return record;
+        }
+
+        // Returns false and keeps the current version (and ETag) when nothing changed
+        synchronized boolean reload() {
+            List<R> items = new ArrayList<>();
+            for (E entity : loader.get()) {
+                items.add(mapper.apply(entity));
+            }
+            items.sort(Comparator.comparing(idOf));
+            if (current != null && current.getItems().equals(items)) {
+                return false;
+            }
+            publish(items);
+            log.debug("Reloaded {} catalog: {} entries", name, items.size());
+            return true;
+        }
+
+        private void publish(List<R> items) {
+            items.sort(Comparator.comparing(idOf));
+            Map<Long, R> byId = new HashMap<>(items.size() * 2);
+            long[] ids = new long[items.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = idOf.apply(items.get(i));
+                byId.put(ids[i], items.get(i));
+            }
+            current = new CatalogSnapshot<>(versions.incrementAndGet(), items, ids, byId, serialize(items));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.plantmanagement.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent queries behind a dashboard at the same time, so the endpoint takes about
+ * as long as its slowest query rather than the sum. Each query gets its own read-only
+ * transaction (and connection) on a small dedicated pool, with a statement timeout and a
+ * deadline on the result. When the pool and its queue are full the caller runs the query
+ * itself, which is the old sequential behaviour.
+ *
+ * Keep dashboard.query.threads well below the connection pool size.
+ */
+@Slf4j
+@Component
+public class DashboardQueryExecutor {
+
+    private final ThreadPoolExecutor pool;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long timeoutMs;
+
+    public DashboardQueryExecutor(PlatformTransactionManager transactionManager,
+                                  @Value("${dashboard.query.threads:4}") int threads,
+                                  @Value("${dashboard.query.queue-capacity:100}") int queueCapacity,
+                                  @Value("${dashboard.query.timeout-ms:3000}") long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Whole seconds only; the result deadline below enforces the exact value
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, (timeoutMs + 999) / 1000));
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-query-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // Starts the query now; fetch the result with get
+    public <T> CompletableFuture<T> submit(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> query.get()), pool)
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    public <T> T get(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new RuntimeException("Dashboard query timed out after " + timeoutMs + " ms", e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -4,17 +4,15 @@ import com.plantmanagement.dto.AdminDashboardStatsDTO;
 import com.plantmanagement.dto.OrderResponse;
 import com.plantmanagement.dto.SellerDashboardStatsDTO;
 import com.plantmanagement.dto.PublicStatsDTO;
-import com.plantmanagement.entity.Order;
-import com.plantmanagement.entity.User;
+import com.plantmanagement.entity.SellerStats;
 import com.plantmanagement.repository.InventoryRepository;
 import com.plantmanagement.repository.OrderRepository;
-import com.plantmanagement.repository.PaymentRepository;
 import com.plantmanagement.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -22,44 +20,40 @@ public class DashboardService {
 
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
-    private final PaymentRepository paymentRepository;
     private final InventoryRepository inventoryRepository;
+    private final OrderQueryService orderQueryService;
+    private final SellerStatsService sellerStatsService;
+    private final DashboardQueryExecutor queryExecutor;
 
+    // Each dashboard's queries are independent, so they run side by side on the query executor
     public AdminDashboardStatsDTO getAdminDashboardStats() {
-        // This is the corrected implementation using our specific repository methods
-        long totalCustomers = userRepository.countTotalCustomers();
-        long totalSellers = userRepository.countTotalSellers();
-        long totalOrders = orderRepository.countPaidOrders();
-        long pendingSellers = userRepository.countPendingSellers();
+        CompletableFuture<Long> totalCustomers = queryExecutor.submit(userRepository::countTotalCustomers);
+        CompletableFuture<Long> totalSellers = queryExecutor.submit(userRepository::countTotalSellers);
+        CompletableFuture<Long> totalOrders = queryExecutor.submit(orderRepository::countPaidOrders);
+        CompletableFuture<Long> pendingSellers = queryExecutor.submit(userRepository::countPendingSellers);
 
-        return new AdminDashboardStatsDTO(totalCustomers, totalSellers, totalOrders, pendingSellers);
+        return new AdminDashboardStatsDTO(queryExecutor.get(totalCustomers), queryExecutor.get(totalSellers),
+                queryExecutor.get(totalOrders), queryExecutor.get(pendingSellers));
     }
 
-    public SellerDashboardStatsDTO getSellerDashboardStats(String sellerEmail) {
-        User seller = userRepository.findByEmail(sellerEmail)
-                .orElseThrow(() -> new RuntimeException("Seller not found"));
+    public SellerDashboardStatsDTO getSellerDashboardStats(Long sellerId) {
+        // Totals come from the seller_stats rollup instead of scanning the seller's history
+        CompletableFuture<SellerStats> stats = queryExecutor.submit(() -> sellerStatsService.getStats(sellerId));
+        CompletableFuture<List<OrderResponse>> recentOrders =
+                queryExecutor.submit(() -> orderQueryService.getRecentOrdersBySeller(sellerId, 5));
 
-        Double revenue = paymentRepository.calculateTotalRevenueForSeller(seller.getId());
-        double totalRevenue = (revenue != null) ? revenue : 0.0;
-
-        long activeOrders = orderRepository.countActiveOrdersForSeller(seller.getId());
-        long lowStockItems = inventoryRepository.countLowStockItemsForSeller(seller.getId());
-        long totalProducts = inventoryRepository.countBySellerId(seller.getId());
-        List<Order> recentOrders = orderRepository.findTop5BySellerIdOrderByOrderDateDesc(seller.getId());
-        List<OrderResponse> recentOrderResponses = recentOrders.stream()
-                .map(OrderResponse::new)
-                .collect(Collectors.toList());
-
-        return new SellerDashboardStatsDTO(totalRevenue, activeOrders, lowStockItems, totalProducts,
-                recentOrderResponses);
+        SellerStats totals = queryExecutor.get(stats);
+        return new SellerDashboardStatsDTO(totals.getTotalRevenue(), totals.getActiveOrders(), totals.getLowStockCount(),
+                totals.getProductCount(), queryExecutor.get(recentOrders), totals.getSeq());
     }
 
     public PublicStatsDTO getPublicStats() {
-        long totalCustomers = userRepository.countTotalCustomers();
-        long totalSellers = userRepository.countTotalSellers();
-        long totalOrders = orderRepository.countPaidOrders();
-        long totalProducts = inventoryRepository.count();
+        CompletableFuture<Long> totalCustomers = queryExecutor.submit(userRepository::countTotalCustomers);
+        CompletableFuture<Long> totalSellers = queryExecutor.submit(userRepository::countTotalSellers);
+        CompletableFuture<Long> totalOrders = queryExecutor.submit(orderRepository::countPaidOrders);
+        CompletableFuture<Long> totalProducts = queryExecutor.submit(inventoryRepository::count);
 
-        return new PublicStatsDTO(totalCustomers, totalSellers, totalOrders, totalProducts);
+        return new PublicStatsDTO(queryExecutor.get(totalCustomers), queryExecutor.get(totalSellers),
+                queryExecutor.get(totalOrders), queryExecutor.get(totalProducts));
     }
 }
@@ -0,0 +1,253 @@
+package com.plantmanagement.service;
+
+import com.plantmanagement.dto.DiagnosisResult;
+import com.plantmanagement.dto.DiseaseResponse;
+import com.plantmanagement.event.CatalogChangedEvent;
+import com.plantmanagement.util.TextTokenizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranks diseases by how well their symptom text matches a set of observed symptoms.
+ * Each disease's symptoms are precomputed into an L2-normalised TF-IDF vector stored as an
+ * inverted index in primitive arrays, and candidates can be narrowed to a plant's diseases
+ * through the catalog relationship graph. Queries run entirely in memory against an immutable model that is rebuilt
+ * whenever a disease is added.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DiseaseDiagnosisService {
+
+    private final CatalogStore catalogStore;
+    private final CatalogGraphService catalogGraphService;
+
+    private volatile DiagnosisModel model = DiagnosisModel.build(List.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.isReload() || event.getRecord() instanceof DiseaseResponse) {
+            rebuild();
+        }
+    }
+
+    public List<DiagnosisResult> diagnose(Long plantId, List<String> symptoms, int limit) {
+        String symptomText = symptoms == null ? "" : String.join(" ", symptoms);
+        DiagnosisModel current = model;
+        int[] candidates = plantId != null ? current.rowsOf(catalogGraphService.diseaseIdsAffecting(plantId)) : null;
+        return current.rank(candidates, TextTokenizer.tokenize(symptomText), Math.max(1, Math.min(limit, 50)));
+    }
+
+    private synchronized void rebuild() {
+        model = DiagnosisModel.build(catalogStore.diseases().getItems());
+        log.debug("Diagnosis model rebuilt: {} diseases, {} terms", model.diseases.length, model.termIds.size());
+    }
+
+    private static final class Scratch {
+        float[] scores = new float[0];
+        int[] stamps = new int[0];
+        int[] touched = new int[0];
+        int generation;
+    }
+
+    private static final class DiagnosisModel {
+
+        private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+        private final DiseaseResponse[] diseases;
+        private final Map<String, Integer> termIds;
+        private final float[] idf;
+        // Postings for term t are termStart[t] until termStart[t + 1] in postingDisease/postingWeight
+        private final int[] termStart;
+        private final int[] postingDisease;
+        private final float[] postingWeight;
+        private final Map<Long, Integer> rowById;
+
+        private DiagnosisModel(DiseaseResponse[] diseases, Map<String, Integer> termIds, float[] idf, int[] termStart,
+                               int[] postingDisease, float[] postingWeight, Map<Long, Integer> rowById) {
+            this.diseases = diseases;
+            this.termIds = termIds;
+            this.idf = idf;
+            this.termStart = termStart;
+            this.postingDisease = postingDisease;
+            this.postingWeight = postingWeight;
+            this.rowById = rowById;
+        }
+
+        static DiagnosisModel build(List<DiseaseResponse> diseaseList) {
+            DiseaseResponse[] diseases = diseaseList.toArray(new DiseaseResponse[0]);
+            Map<String, Integer> termIds = new HashMap<>();
+            List<Map<Integer, Integer>> termCounts = new ArrayList<>(diseases.length);
+            List<Integer> documentFrequency = new ArrayList<>();
+
+            for (DiseaseResponse disease : diseases) {
+                Map<Integer, Integer> counts = new LinkedHashMap<>();
+                for (String token : TextTokenizer.tokenize(disease.getSymptoms())) {
+                    int termId = termIds.computeIfAbsent(token, key -> {
+                        documentFrequency.add(0);
+                        return termIds.size();
+                    });
+                    if (counts.merge(termId, 1, Integer::sum) == 1) {
+                        documentFrequency.set(termId, documentFrequency.get(termId) + 1);
+                    }
+                }
+                termCounts.add(counts);
+            }
+
+            int termCount = termIds.size();
+            float[] idf = new float[termCount];
+            for (int t = 0; t < termCount; t++) {
+                idf[t] = (float) Math.log(1 + (double) diseases.length / documentFrequency.get(t));
+            }
+
+            // Count postings per term, then fill the arrays with normalised weights
+            int[] termStart = new int[termCount + 1];
+            termCounts.forEach(counts -> counts.keySet().forEach(t -> termStart[t + 1]++));
+            for (int t = 0; t < termCount; t++) {
+                termStart[t + 1] += termStart[t];
+            }
+            int[] fill = Arrays.copyOf(termStart, termCount);
+            int[] postingDisease = new int[termStart[termCount]];
+            float[] postingWeight = new float[termStart[termCount]];
+            for (int d = 0; d < diseases.length; d++) {
+                Map<Integer, Integer> counts = termCounts.get(d);
+                double norm = 0;
+                for (Map.Entry<Integer, Integer> entry : counts.entrySet()) {
+                    double weight = (1 + Math.log(entry.getValue())) * idf[entry.getKey()];
+                    norm += weight * weight;
+                }
+                norm = Math.sqrt(norm);
+                for (Map.Entry<Integer, Integer> entry : counts.entrySet()) {
+                    int position = fill[entry.getKey()]++;
+                    postingDisease[position] = d;
+                    postingWeight[position] = (float) ((1 + Math.log(entry.getValue())) * idf[entry.getKey()] / norm);
+                }
+            }
+
+            Map<Long, Integer> rowById = new HashMap<>(diseases.length * 2);
+            for (int d = 0; d < diseases.length; d++) {
+                rowById.put(diseases[d].getId(), d);
+            }
+            return new DiagnosisModel(diseases, termIds, idf, termStart, postingDisease, postingWeight, rowById);
+        }
+
+        // Maps disease ids from the relationship graph onto rows of this model
+        int[] rowsOf(long[] diseaseIds) {
+            int[] rows = new int[diseaseIds.length];
+            int count = 0;
+            for (long diseaseId : diseaseIds) {
+                Integer row = rowById.get(diseaseId);
+                if (row != null) {
+                    rows[count++] = row;
+                }
+            }
+            return count == rows.length ? rows : Arrays.copyOf(rows, count);
+        }
+
+        List<DiagnosisResult> rank(int[] candidates, List<String> tokens, int limit) {
+            if (diseases.length == 0 || (candidates != null && candidates.length == 0)) {
+                return Collections.emptyList();
+            }
+
+            Scratch scratch = SCRATCH.get();
+            if (scratch.scores.length < diseases.length) {
+                scratch.scores = new float[diseases.length];
+                scratch.stamps = new int[diseases.length];
+                scratch.touched = new int[diseases.length];
+            }
+            float[] scores = scratch.scores;
+            int[] stamps = scratch.stamps;
+            int[] touched = scratch.touched;
+            int generation = ++scratch.generation;
+            int touchedCount = 0;
+
+            // Candidate rows get the current generation; with no plant filter every disease is a candidate
+            if (candidates != null) {
+                for (int d : candidates) {
+                    stamps[d] = generation;
+                }
+            }
+
+            int[] queryTerms = new int[tokens.size()];
+            int queryTermCount = 0;
+            double queryNorm = 0;
+            for (String token : tokens) {
+                Integer termId = termIds.get(token);
+                if (termId != null) {
+                    queryTerms[queryTermCount++] = termId;
+                    queryNorm += idf[termId] * idf[termId];
+                }
+            }
+            queryNorm = Math.sqrt(queryNorm);
+
+            for (int q = 0; q < queryTermCount; q++) {
+                int t = queryTerms[q];
+                float queryWeight = (float) (idf[t] / queryNorm);
+                for (int p = termStart[t]; p < termStart[t + 1]; p++) {
+                    int d = postingDisease[p];
+                    if (candidates != null && stamps[d] != generation) {
+                        continue;
+                    }
+                    if (scores[d] == 0) {
+                        touched[touchedCount++] = d;
+                    }
+                    scores[d] += queryWeight * postingWeight[p];
+                }
+            }
+
+            // With a plant filter but no matching symptom terms, still list the plant's diseases
+            if (touchedCount == 0 && candidates != null) {
+                List<DiagnosisResult> results = new ArrayList<>();
+                for (int i = 0; i < candidates.length && i < limit; i++) {
+                    results.add(new DiagnosisResult(diseases[candidates[i]], 0));
+                }
+                return results;
+            }
+
+            // Partial selection of the top K into small parallel arrays
+            int[] top = new int[Math.min(limit, touchedCount)];
+            int topCount = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int d = touched[i];
+                float score = scores[d];
+                if (topCount < top.length) {
+                    top[topCount++] = d;
+                } else if (score > scores[top[topCount - 1]]) {
+                    top[topCount - 1] = d;
+                } else {
+                    continue;
+                }
+                for (int j = topCount - 1; j > 0 && scores[top[j]] > scores[top[j - 1]]; j--) {
+                    int swap = top[j];
+                    top[j] = top[j - 1];
+                    top[j - 1] = swap;
+                }
+            }
+
+            List<DiagnosisResult> results = new ArrayList<>(topCount);
+            for (int i = 0; i < topCount; i++) {
+                results.add(new DiagnosisResult(diseases[top[i]], scores[top[i]]));
+            }
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0;
+            }
+            return results;
+        }
+    }
+}
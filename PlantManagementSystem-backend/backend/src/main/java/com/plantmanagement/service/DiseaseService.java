@@ -1,5 +1,6 @@
 package com.plantmanagement.service;
 
+import com.plantmanagement.dto.DiseaseResponse;
 import com.plantmanagement.entity.Disease;
 import com.plantmanagement.repository.DiseaseRepository;
 import lombok.RequiredArgsConstructor;
@@ -12,12 +13,19 @@ import java.util.List;
 public class DiseaseService {
 
     private final DiseaseRepository diseaseRepository;
+    private final CatalogStore catalogStore;
 
-    public List<Disease> getAllDiseases() {
-        return diseaseRepository.findAll();
+    public List<DiseaseResponse> getAllDiseases() {
+        return catalogStore.diseases().getItems();
+    }
+
+    public CatalogSnapshot<DiseaseResponse> getDiseaseCatalog() {
+        return catalogStore.diseases();
     }
 
     public Disease createDisease(Disease disease) {
-        return diseaseRepository.save(disease);
+        Disease saved = diseaseRepository.save(disease);
+        catalogStore.addDisease(saved);
+        return saved;
     }
 }
\ No newline at end of file
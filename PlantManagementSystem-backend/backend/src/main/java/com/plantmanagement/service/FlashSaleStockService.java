@@ -0,0 +1,246 @@
+package com.plantmanagement.service;
+
+import com.plantmanagement.entity.FlashSalePendingDecrement;
+import com.plantmanagement.repository.FlashSalePendingRepository;
+import com.plantmanagement.repository.InventoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in hot-item mode. A flash-sale item's available stock lives in an in-memory striped
+ * counter, so checkouts take units with a CAS instead of queueing on the inventory row lock.
+ * Each taken unit is appended to flash_sale_pending in the checkout transaction; a write-behind
+ * flusher applies the summed decrements to the inventory rows in batches. For every hot item,
+ * inventory.quantity = counter + pending rows (+ units held by checkouts still in flight).
+ *
+ * Switching modes locks the inventory row, so checkouts already on the row path finish first and
+ * the guarded row update refuses any that decided on the row path before the switch. The
+ * counters are per process, so flash-sale mode assumes a single backend node.
+ */
+@Slf4j
+@Service
+public class FlashSaleStockService {
+
+    private final InventoryRepository inventoryRepository;
+    private final FlashSalePendingRepository pendingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int stripes;
+    private final int flushBatchSize;
+
+    private final ConcurrentHashMap<Long, StripedCounter> counters = new ConcurrentHashMap<>();
+
+    public FlashSaleStockService(InventoryRepository inventoryRepository,
+                                 FlashSalePendingRepository pendingRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${flash-sale.stripes:0}") int stripes,
+                                 @Value("${flash-sale.flush-batch-size:5000}") int flushBatchSize) {
+        this.inventoryRepository = inventoryRepository;
+        this.pendingRepository = pendingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.stripes = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    // Restart recovery: apply whatever the previous process left pending, then rebuild the counters from the rows
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        flush();
+        List<Long> hotItems = inventoryRepository.findFlashSaleIds();
+        hotItems.forEach(inventoryId -> transactionTemplate.executeWithoutResult(status -> load(inventoryId)));
+        if (!hotItems.isEmpty()) {
+            log.info("Flash-sale counters loaded for {} inventory items", hotItems.size());
+        }
+    }
+
+    public boolean isHot(Long inventoryId) {
+        return counters.containsKey(inventoryId);
+    }
+
+    public Set<Long> hotItems() {
+        return counters.keySet();
+    }
+
+    /**
+     * Takes units from the item's counter for the current checkout transaction. The units go back
+     * to the counter if the transaction rolls back; on commit the pending row carries them to the
+     * inventory row at the next flush.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean reserve(Long inventoryId, int quantity) {
+        StripedCounter counter = counters.get(inventoryId);
+        if (counter == null || !counter.tryAcquire(quantity)) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    counter.release(quantity);
+                }
+            }
+        });
+        pendingRepository.save(new FlashSalePendingDecrement(null, inventoryId, quantity, LocalDateTime.now()));
+        return true;
+    }
+
+    // Stock put back on the inventory rows (e.g. cancelled orders) becomes available once that commits
+    public void restockAfterCommit(Map<Long, Integer> quantities) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                quantities.forEach((inventoryId, quantity) -> {
+                    StripedCounter counter = counters.get(inventoryId);
+                    if (counter != null) {
+                        counter.release(quantity);
+                    }
+                });
+            }
+        });
+    }
+
+    // The counter is loaded under the row lock, after every earlier row-path checkout committed
+    public synchronized void enable(Long inventoryId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            inventoryRepository.updateFlashSale(inventoryId, true);
+            load(inventoryId);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        counters.remove(inventoryId);
+                    }
+                }
+            });
+        });
+        log.info("Flash-sale mode enabled for inventory item {}", inventoryId);
+    }
+
+    /**
+     * Drains the item's pending units into the row while holding its lock, so the first row-path
+     * checkout after the switch sees them applied. Synchronized with flush: both lock pending
+     * rows and inventory rows, and must not interleave.
+     */
+    public synchronized void disable(Long inventoryId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            inventoryRepository.lockQuantityById(inventoryId);
+            inventoryRepository.updateFlashSale(inventoryId, false);
+            counters.remove(inventoryId);
+            List<FlashSalePendingDecrement> pending = pendingRepository.lockByInventoryId(inventoryId);
+            if (!pending.isEmpty()) {
+                int total = pending.stream().mapToInt(FlashSalePendingDecrement::getQuantity).sum();
+                reportOversell(inventoryRepository.applyDecrements(Map.of(inventoryId, total)));
+                pendingRepository.deleteByIds(pending.stream().map(FlashSalePendingDecrement::getId).collect(Collectors.toList()));
+            }
+        });
+        // Checkouts that took from the counter just before it was removed commit their units later
+        flush();
+        log.info("Flash-sale mode disabled for inventory item {}", inventoryId);
+    }
+
+    @Scheduled(fixedDelayString = "${flash-sale.flush-interval-ms:1000}",
+            initialDelayString = "${flash-sale.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        int flushed;
+        do {
+            Integer count = transactionTemplate.execute(status -> flushBatch());
+            flushed = count != null ? count : 0;
+        } while (flushed == flushBatchSize);
+    }
+
+    private int flushBatch() {
+        List<FlashSalePendingDecrement> batch = pendingRepository.lockBatch(flushBatchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Integer> totals = new HashMap<>();
+        batch.forEach(pending -> totals.merge(pending.getInventoryId(), pending.getQuantity(), Integer::sum));
+        reportOversell(inventoryRepository.applyDecrements(totals));
+        pendingRepository.deleteByIds(batch.stream().map(FlashSalePendingDecrement::getId).collect(Collectors.toList()));
+        log.debug("Flushed {} flash-sale decrements across {} items", batch.size(), totals.size());
+        return batch.size();
+    }
+
+    private static void reportOversell(List<Long> clamped) {
+        if (!clamped.isEmpty()) {
+            log.error("Flash-sale decrements exceeded the stock of inventory items {}; quantity clamped at 0", clamped);
+        }
+    }
+
+    // Runs in the caller's transaction, which holds the row lock from here to commit
+    private void load(Long inventoryId) {
+        long available = inventoryRepository.lockQuantityById(inventoryId) - pendingRepository.sumPending(inventoryId);
+        counters.put(inventoryId, new StripedCounter(Math.max(0, available), stripes));
+    }
+
+    /**
+     * Available units spread over independent atomic slots. A checkout CASes on the slot picked by
+     * its thread and only moves to other slots when that one runs dry.
+     */
+    static final class StripedCounter {
+
+        private final AtomicLongArray slots;
+
+        StripedCounter(long available, int stripeCount) {
+            slots = new AtomicLongArray(stripeCount);
+            for (int i = 0; i < stripeCount; i++) {
+                slots.set(i, available / stripeCount + (i < available % stripeCount ? 1 : 0));
+            }
+        }
+
+        boolean tryAcquire(int quantity) {
+            int home = (int) (Thread.currentThread().getId() % slots.length());
+            for (int i = 0; i < slots.length(); i++) {
+                int slot = (home + i) % slots.length();
+                long current;
+                while ((current = slots.get(slot)) >= quantity) {
+                    if (slots.compareAndSet(slot, current, current - quantity)) {
+                        return true;
+                    }
+                }
+            }
+            return acquireAcrossSlots(quantity);
+        }
+
+        void release(long quantity) {
+            slots.addAndGet((int) (Thread.currentThread().getId() % slots.length()), quantity);
+        }
+
+        // No single slot holds enough: gather from several, and hand everything back if the total falls short
+        private synchronized boolean acquireAcrossSlots(int quantity) {
+            long taken = 0;
+            for (int slot = 0; slot < slots.length() && taken < quantity; slot++) {
+                long current;
+                while ((current = slots.get(slot)) > 0) {
+                    long take = Math.min(current, quantity - taken);
+                    if (slots.compareAndSet(slot, current, current - take)) {
+                        taken += take;
+                        break;
+                    }
+                }
+            }
+            if (taken < quantity) {
+                release(taken);
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package com.plantmanagement.service;
 
+import com.plantmanagement.dto.CursorPage;
+import com.plantmanagement.dto.StockLevelResponse;
 import com.plantmanagement.entity.Inventory;
+import com.plantmanagement.entity.StockMovement;
 import com.plantmanagement.entity.User;
+import com.plantmanagement.event.SellerDashboardEvent;
 import com.plantmanagement.repository.InventoryRepository;
 import com.plantmanagement.repository.UserRepository;
+import com.plantmanagement.security.AuthenticatedUser;
+import com.plantmanagement.util.PageCursor;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.nio.file.AccessDeniedException;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -19,31 +28,46 @@ public class InventoryService {
 
     private final InventoryRepository inventoryRepository;
     private final UserRepository userRepository;
+    private final FlashSaleStockService flashSaleStockService;
+    private final StockLedgerService stockLedgerService;
+    private final SellerStatsService sellerStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public List<Inventory> getInventoryBySeller(String sellerEmail) {
-        User seller = userRepository.findByEmail(sellerEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("Seller not found"));
-        return inventoryRepository.findBySellerId(seller.getId());
+    public List<Inventory> getInventoryBySeller(Long sellerId) {
+        return inventoryRepository.findBySellerId(sellerId);
     }
 
-    public Inventory addInventoryItem(Inventory inventoryItem, String sellerEmail) {
-        User seller = userRepository.findByEmail(sellerEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("Seller not found"));
+    public Inventory addInventoryItem(Inventory inventoryItem, Long sellerId) {
+        User seller = userRepository.getReferenceById(sellerId);
         inventoryItem.setSeller(seller);
-        return inventoryRepository.save(inventoryItem);
+        Inventory saved = inventoryRepository.save(inventoryItem);
+        stockLedgerService.record(saved.getId(), StockMovement.MovementType.OPENING_BALANCE, saved.getQuantity(), null);
+        boolean lowStock = saved.getQuantity() <= saved.getLowStockThreshold();
+        sellerStatsService.recordProductAdded(sellerId, lowStock);
+        eventPublisher.publishEvent(SellerDashboardEvent.productAdded(sellerId, saved.getId(), saved.getQuantity(), lowStock));
+        return saved;
     }
 
-    public Inventory updateInventoryItem(Long itemId, Inventory updatedItem, String sellerEmail) throws AccessDeniedException {
-        User seller = userRepository.findByEmail(sellerEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("Seller not found"));
-        
+    public Inventory updateInventoryItem(Long itemId, Inventory updatedItem, Long sellerId) throws AccessDeniedException {
         Inventory existingItem = inventoryRepository.findById(itemId)
                 .orElseThrow(() -> new RuntimeException("Inventory item not found"));
 
-        if (!existingItem.getSeller().getId().equals(seller.getId())) {
+        if (!existingItem.getSeller().getId().equals(sellerId)) {
             throw new AccessDeniedException("You do not have permission to update this item.");
         }
 
+        // A flash-sale item's stock is owned by its in-memory counter until the sale ends
+        if (existingItem.isFlashSale() && existingItem.getQuantity() != updatedItem.getQuantity()) {
+            throw new RuntimeException("End the flash sale before changing this item's quantity.");
+        }
+
+        // The seller edited a stale copy: refuse a stock change made against an old quantity
+        int delta = updatedItem.getQuantity() - existingItem.getQuantity();
+        if (delta != 0 && updatedItem.getVersion() != null && !updatedItem.getVersion().equals(existingItem.getVersion())) {
+            throw new RuntimeException("This item's stock changed since you loaded it. Reload and try again.");
+        }
+
+        boolean wasLowStock = existingItem.getQuantity() <= existingItem.getLowStockThreshold();
         existingItem.setName(updatedItem.getName());
         existingItem.setType(updatedItem.getType());
         existingItem.setPrice(updatedItem.getPrice());
@@ -51,9 +75,60 @@ public class InventoryService {
         existingItem.setDescription(updatedItem.getDescription());
         existingItem.setLowStockThreshold(updatedItem.getLowStockThreshold());
 
-        return inventoryRepository.save(existingItem);
+        // The version check on flush fails if a checkout changed the row after it was read
+        Inventory saved = inventoryRepository.saveAndFlush(existingItem);
+        if (delta != 0) {
+            stockLedgerService.record(itemId, StockMovement.MovementType.SELLER_ADJUSTMENT, delta, null);
+        }
+        boolean lowStock = saved.getQuantity() <= saved.getLowStockThreshold();
+        if (lowStock != wasLowStock) {
+            sellerStatsService.recordLowStockChanges(Map.of(sellerId, lowStock ? 1 : -1));
+            eventPublisher.publishEvent(SellerDashboardEvent.lowStock(sellerId, itemId, saved.getQuantity(), lowStock));
+        }
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public StockLevelResponse getStockLevel(Long itemId, AuthenticatedUser user) throws AccessDeniedException {
+        checkAccess(itemId, user);
+        return stockLedgerService.getStockLevel(itemId);
     }
+
+    @Transactional(readOnly = true)
+    public CursorPage<StockMovement> getStockMovements(Long itemId, AuthenticatedUser user, PageCursor after, int limit)
+            throws AccessDeniedException {
+        checkAccess(itemId, user);
+        return stockLedgerService.getMovements(itemId, after, limit);
+    }
+
+    private void checkAccess(Long itemId, AuthenticatedUser user) throws AccessDeniedException {
+        Long sellerId = inventoryRepository.findSellerIdById(itemId)
+                .orElseThrow(() -> new RuntimeException("Inventory item not found"));
+        if (!sellerId.equals(user.getId()) && !user.isAdmin()) {
+            throw new AccessDeniedException("You do not have permission to view this item.");
+        }
+    }
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void setFlashSale(Long itemId, boolean enabled, Long sellerId) throws AccessDeniedException {
+        Inventory item = inventoryRepository.findById(itemId)
+                .orElseThrow(() -> new RuntimeException("Inventory item not found"));
+        if (!item.getSeller().getId().equals(sellerId)) {
+            throw new AccessDeniedException("You do not have permission to update this item.");
+        }
+        if (enabled) {
+            flashSaleStockService.enable(itemId);
+        } else {
+            flashSaleStockService.disable(itemId);
+        }
+    }
+
      public List<Inventory> getInventoryBySellerId(Long sellerId) {
         return inventoryRepository.findBySellerId(sellerId);
     }
+
+    public CursorPage<Inventory> getInventoryBySellerId(Long sellerId, PageCursor after, int limit) {
+        List<Inventory> rows = inventoryRepository.findBySellerIdAndIdGreaterThanOrderByIdAsc(
+                sellerId, after == null ? 0L : after.getId(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, item -> PageCursor.ofId(item.getId()));
+    }
 }
\ No newline at end of file
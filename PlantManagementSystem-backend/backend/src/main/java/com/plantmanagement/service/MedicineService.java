@@ -1,5 +1,6 @@
 package com.plantmanagement.service;
 
+import com.plantmanagement.dto.MedicineResponse;
 import com.plantmanagement.entity.Medicine;
 import com.plantmanagement.repository.MedicineRepository;
 import lombok.RequiredArgsConstructor;
@@ -12,12 +13,19 @@ import java.util.List;
 public class MedicineService {
 
     private final MedicineRepository medicineRepository;
+    private final CatalogStore catalogStore;
 
-    public List<Medicine> getAllMedicines() {
-        return medicineRepository.findAll();
+    public List<MedicineResponse> getAllMedicines() {
+        return catalogStore.medicines().getItems();
+    }
+
+    public CatalogSnapshot<MedicineResponse> getMedicineCatalog() {
+        return catalogStore.medicines();
     }
 
     public Medicine createMedicine(Medicine medicine) {
-        return medicineRepository.save(medicine);
+        Medicine saved = medicineRepository.save(medicine);
+        catalogStore.addMedicine(saved);
+        return saved;
     }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.plantmanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Re-runs a transactional service call when it loses an optimistic version check. Each attempt
+ * must be a whole transaction, so this is called from outside the service (controllers), and
+ * only around calls that re-read their state and are safe to repeat. Backoff is exponential
+ * with full jitter so colliding requests spread out instead of colliding again.
+ */
+@Slf4j
+@Component
+public class OptimisticRetryExecutor {
+
+    @FunctionalInterface
+    public interface Attempt<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    public OptimisticRetryExecutor(MeterRegistry meterRegistry,
+                                   @Value("${concurrency.retry.max-attempts:4}") int maxAttempts,
+                                   @Value("${concurrency.retry.base-delay-ms:10}") long baseDelayMs,
+                                   @Value("${concurrency.retry.max-delay-ms:200}") long maxDelayMs) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.retries = Counter.builder("concurrency.retry.attempts").register(meterRegistry);
+        this.exhausted = Counter.builder("concurrency.retry.exhausted").register(meterRegistry);
+    }
+
+    public <T, E extends Exception> T execute(Attempt<T, E> attempt) throws E {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // A retry inside the caller's transaction would re-read the same stale state
+            throw new IllegalStateException("Optimistic retries must start outside a transaction");
+        }
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                return attempt.run();
+            } catch (OptimisticLockingFailureException e) {
+                if (attemptNumber >= maxAttempts) {
+                    exhausted.increment();
+                    throw e;
+                }
+                retries.increment();
+                log.debug("Version conflict on attempt {}, retrying: {}", attemptNumber, e.getMessage());
+                backOff(attemptNumber);
+            }
+        }
+    }
+
+    private void backOff(int attemptNumber) {
+        long ceiling = Math.min(maxDelayMs, baseDelayMs << Math.min(attemptNumber - 1, 16));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off", e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.plantmanagement.service;
+
+import com.plantmanagement.dto.AdminOrderResponse;
+import com.plantmanagement.dto.CursorPage;
+import com.plantmanagement.dto.OrderItemRow;
+import com.plantmanagement.dto.OrderListRow;
+import com.plantmanagement.dto.OrderResponse;
+import com.plantmanagement.repository.OrderItemRepository;
+import com.plantmanagement.repository.OrderRepository;
+import com.plantmanagement.util.PageCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Read path for order lists. Orders come back as flat projections joined to their customer,
+ * seller and address, and the items of the whole list are fetched with one IN query, so a list
+ * costs two statements however many orders it holds (plus one per extra 1000 orders).
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OrderQueryService {
+
+    private static final int ITEM_BATCH_SIZE = 1000;
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+
+    public List<OrderResponse> getOrdersByCustomer(Long customerId) {
+        return toOrderResponses(orderRepository.findRowsByCustomerId(customerId));
+    }
+
+    public List<OrderResponse> getOrdersBySeller(Long sellerId) {
+        return toOrderResponses(orderRepository.findRowsBySellerId(sellerId));
+    }
+
+    public List<OrderResponse> getRecentOrdersBySeller(Long sellerId, int count) {
+        return toOrderResponses(orderRepository.findRecentRowsBySellerId(sellerId, Limit.of(count)));
+    }
+
+    public List<OrderResponse> getOrdersByIds(Collection<Long> orderIds) {
+        return toOrderResponses(orderRepository.findRowsByIdIn(orderIds));
+    }
+
+    public List<AdminOrderResponse> getAllOrders() {
+        return toAdminOrderResponses(orderRepository.findAllRows());
+    }
+
+    public CursorPage<OrderResponse> getOrdersByCustomer(Long customerId, PageCursor after, int limit) {
+        List<OrderListRow> rows = after == null
+                ? orderRepository.findPageByCustomer(customerId, Limit.of(limit + 1))
+                : orderRepository.findPageByCustomerAfter(customerId, after.sortKeyAsDateTime(), after.getId(), Limit.of(limit + 1));
+        return page(rows, limit).mapItems(this::toOrderResponses);
+    }
+
+    public CursorPage<OrderResponse> getOrdersBySeller(Long sellerId, PageCursor after, int limit) {
+        List<OrderListRow> rows = after == null
+                ? orderRepository.findPageBySeller(sellerId, Limit.of(limit + 1))
+                : orderRepository.findPageBySellerAfter(sellerId, after.sortKeyAsDateTime(), after.getId(), Limit.of(limit + 1));
+        return page(rows, limit).mapItems(this::toOrderResponses);
+    }
+
+    public CursorPage<AdminOrderResponse> getAllOrders(PageCursor after, int limit) {
+        List<OrderListRow> rows = after == null
+                ? orderRepository.findPage(Limit.of(limit + 1))
+                : orderRepository.findPageAfter(after.sortKeyAsDateTime(), after.getId(), Limit.of(limit + 1));
+        return page(rows, limit).mapItems(this::toAdminOrderResponses);
+    }
+
+    private static CursorPage<OrderListRow> page(List<OrderListRow> rows, int limit) {
+        return CursorPage.of(rows, limit, row -> PageCursor.of(row.getOrderDate(), row.getId()));
+    }
+
+    private List<OrderResponse> toOrderResponses(List<OrderListRow> rows) {
+        Map<Long, List<OrderItemRow>> items = loadItems(rows);
+        return rows.stream()
+                .map(row -> new OrderResponse(row, items.getOrDefault(row.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private List<AdminOrderResponse> toAdminOrderResponses(List<OrderListRow> rows) {
+        Map<Long, List<OrderItemRow>> items = loadItems(rows);
+        return rows.stream()
+                .map(row -> new AdminOrderResponse(row, items.getOrDefault(row.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, List<OrderItemRow>> loadItems(List<OrderListRow> rows) {
+        Map<Long, List<OrderItemRow>> itemsByOrder = new HashMap<>(rows.size() * 2);
+        for (int start = 0; start < rows.size(); start += ITEM_BATCH_SIZE) {
+            List<Long> orderIds = rows.subList(start, Math.min(start + ITEM_BATCH_SIZE, rows.size())).stream()
+                    .map(OrderListRow::getId)
+                    .collect(Collectors.toList());
+            for (OrderItemRow item : orderItemRepository.findRowsByOrderIds(orderIds)) {
+                itemsByOrder.computeIfAbsent(item.getOrderId(), id -> new ArrayList<>()).add(item);
+            }
+        }
+        return itemsByOrder;
+    }
+}
@@ -1,21 +1,36 @@
 package com.plantmanagement.service;
 
+import com.plantmanagement.dto.BulkStatusRequest;
+import com.plantmanagement.dto.BulkStatusResponse;
+import com.plantmanagement.dto.CheckoutRequest;
 import com.plantmanagement.dto.OrderRequest;
 import com.plantmanagement.entity.Inventory;
 import com.plantmanagement.entity.Order;
 import com.plantmanagement.entity.OrderItem;
+import com.plantmanagement.entity.OutboxEvent;
 import com.plantmanagement.entity.ShippingAddress;
+import com.plantmanagement.entity.StockMovement;
 import com.plantmanagement.entity.User;
+import com.plantmanagement.event.SellerDashboardEvent;
 import com.plantmanagement.repository.InventoryRepository;
 import com.plantmanagement.repository.OrderRepository;
+import com.plantmanagement.repository.StockReservationRepository;
 import com.plantmanagement.repository.UserRepository;
+import com.plantmanagement.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,13 +38,23 @@ import java.util.stream.Collectors;
 @Transactional
 public class OrderService {
 
+    private static final int MAX_BULK_ORDERS = 1000;
+
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final InventoryRepository inventoryRepository;
+    private final StockReservationService stockReservationService;
+    private final FlashSaleStockService flashSaleStockService;
+    private final StockLedgerService stockLedgerService;
+    private final StockReservationRepository stockReservationRepository;
+    private final OutboxService outboxService;
+    private final SellerStatsService sellerStatsService;
+    private final SalesAnalyticsService salesAnalyticsService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public Order createOrder(OrderRequest orderRequest, String customerEmail) {
-        User customer = userRepository.findByEmail(customerEmail)
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
+    public Order createOrder(OrderRequest orderRequest, Long customerId) {
+        // The principal was resolved by the auth filter, so a reference is enough here
+        User customer = userRepository.getReferenceById(customerId);
 
         // All items in a single order must come from the same seller
         User seller = userRepository.findById(orderRequest.getSellerId())
@@ -42,30 +67,25 @@ public class OrderService {
         order.setStatus(Order.OrderStatus.PENDING_PAYMENT);
 
         // Create shipping address if provided
-        if (orderRequest.getShippingAddress() != null) {
-            ShippingAddress shippingAddress = new ShippingAddress();
-            shippingAddress.setStreet(orderRequest.getShippingAddress().getStreet());
-            shippingAddress.setCity(orderRequest.getShippingAddress().getCity());
-            shippingAddress.setState(orderRequest.getShippingAddress().getState());
-            shippingAddress.setZipCode(orderRequest.getShippingAddress().getZipCode());
-            shippingAddress.setCountry(orderRequest.getShippingAddress().getCountry());
-            shippingAddress.setUser(customer); // Link to customer
-            order.setShippingAddress(shippingAddress);
-        }
+        order.setShippingAddress(toShippingAddress(orderRequest.getShippingAddress(), customer));
 
-        List<OrderItem> orderItems = orderRequest.getItems().stream().map(itemDto -> {
-            Inventory inventoryItem = inventoryRepository.findById(itemDto.getInventoryItemId())
-                    .orElseThrow(
-                            () -> new RuntimeException("Inventory item not found: " + itemDto.getInventoryItemId()));
+        Map<Long, Integer> quantities = aggregate(orderRequest.getItems());
 
-            if (inventoryItem.getQuantity() < itemDto.getQuantity()) {
-                throw new RuntimeException("Not enough stock for item: " + inventoryItem.getName());
+        Map<Long, Inventory> inventoryById = inventoryRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Inventory::getId, Function.identity()));
+        for (Long inventoryId : quantities.keySet()) {
+            Inventory inventoryItem = inventoryById.get(inventoryId);
+            if (inventoryItem == null) {
+                throw new RuntimeException("Inventory item not found: " + inventoryId);
             }
+            if (!inventoryItem.getSeller().getId().equals(seller.getId())) {
+                throw new RuntimeException("Item does not belong to this seller: " + inventoryItem.getName());
+            }
+        }
+        takeStock(quantities, inventoryById);
 
-            // Decrease the stock
-            inventoryItem.setQuantity(inventoryItem.getQuantity() - itemDto.getQuantity());
-            inventoryRepository.save(inventoryItem);
-
+        List<OrderItem> orderItems = orderRequest.getItems().stream().map(itemDto -> {
+            Inventory inventoryItem = inventoryById.get(itemDto.getInventoryItemId());
             OrderItem orderItem = new OrderItem();
             orderItem.setOrder(order);
             orderItem.setInventoryItem(inventoryItem);
@@ -77,55 +97,288 @@ public class OrderService {
         order.setItems(orderItems);
         order.setTotalAmount(orderItems.stream().mapToDouble(item -> item.getPrice() * item.getQuantity()).sum());
 
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        stockReservationService.reserve(List.of(saved.getId()));
+        stockLedgerService.recordSales(Map.of(saved.getId(), quantities));
+        outboxService.recordOrderEvents(OutboxEvent.EventType.ORDER_CREATED, List.of(saved.getId()));
+        eventPublisher.publishEvent(SellerDashboardEvent.orderCreated(seller.getId(), saved.getId(), saved.getTotalAmount()));
+        return saved;
     }
 
-    public List<Order> getOrdersByCustomer(String customerEmail) {
-        User customer = userRepository.findByEmail(customerEmail)
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
-        return orderRepository.findByCustomerId(customer.getId());
+    /**
+     * Checks out a whole cart: lines are grouped by the seller of their inventory item and one
+     * order is created per seller. Inventory is loaded with one IN query, stock is taken with one
+     * guarded batch, and addresses, orders and items are written as JDBC batches, all in this
+     * transaction. Returns the new order ids in seller order of first appearance in the cart.
+     */
+    public List<Long> checkout(CheckoutRequest checkoutRequest, Long customerId) {
+        Map<Long, Integer> quantities = aggregate(checkoutRequest.getItems());
+
+        Map<Long, Inventory> inventoryById = inventoryRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Inventory::getId, Function.identity()));
+        for (Long inventoryId : quantities.keySet()) {
+            if (!inventoryById.containsKey(inventoryId)) {
+                throw new RuntimeException("Inventory item not found: " + inventoryId);
+            }
+        }
+        takeStock(quantities, inventoryById);
+
+        // The seller comes from each item's seller_id, so sellers need no lookup of their own
+        User customer = userRepository.getReferenceById(customerId);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Order> orderBySeller = new LinkedHashMap<>();
+        for (OrderRequest.OrderItemDto itemDto : checkoutRequest.getItems()) {
+            Inventory inventoryItem = inventoryById.get(itemDto.getInventoryItemId());
+            Order order = orderBySeller.computeIfAbsent(inventoryItem.getSeller().getId(), sellerId -> {
+                Order created = new Order();
+                created.setCustomer(customer);
+                created.setSeller(inventoryItem.getSeller());
+                created.setOrderDate(now);
+                created.setStatus(Order.OrderStatus.PENDING_PAYMENT);
+                created.setShippingAddress(toShippingAddress(checkoutRequest.getShippingAddress(), customer));
+                created.setItems(new ArrayList<>());
+                created.setTotalAmount(0.0);
+                return created;
+            });
+            OrderItem orderItem = new OrderItem();
+            orderItem.setOrder(order);
+            orderItem.setInventoryItem(inventoryItem);
+            orderItem.setQuantity(itemDto.getQuantity());
+            orderItem.setPrice(inventoryItem.getPrice()); // Price at the time of purchase
+            order.getItems().add(orderItem);
+            order.setTotalAmount(order.getTotalAmount() + orderItem.getPrice() * orderItem.getQuantity());
+        }
+
+        List<Order> orders = new ArrayList<>(orderBySeller.values());
+        orderRepository.insertAll(orders);
+
+        List<Long> orderIds = orders.stream().map(Order::getId).collect(Collectors.toList());
+        Map<Long, Map<Long, Integer>> quantitiesByOrder = new LinkedHashMap<>();
+        for (Order order : orders) {
+            Map<Long, Integer> orderQuantities = new LinkedHashMap<>();
+            order.getItems().forEach(item -> orderQuantities.merge(item.getInventoryItem().getId(), item.getQuantity(), Integer::sum));
+            quantitiesByOrder.put(order.getId(), orderQuantities);
+        }
+        stockReservationService.reserve(orderIds);
+        stockLedgerService.recordSales(quantitiesByOrder);
+        outboxService.recordOrderEvents(OutboxEvent.EventType.ORDER_CREATED, orderIds);
+        orders.forEach(order -> eventPublisher.publishEvent(
+                SellerDashboardEvent.orderCreated(order.getSeller().getId(), order.getId(), order.getTotalAmount())));
+        return orderIds;
     }
 
-    public List<Order> getOrdersBySeller(String sellerEmail) {
-        User seller = userRepository.findByEmail(sellerEmail)
-                .orElseThrow(() -> new RuntimeException("Seller not found"));
-        return orderRepository.findBySellerId(seller.getId());
+    // Total quantity per inventory item, in case the same item appears on several lines
+    private static Map<Long, Integer> aggregate(List<OrderRequest.OrderItemDto> items) {
+        if (items == null || items.isEmpty()) {
+            throw new RuntimeException("Order has no items");
+        }
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderRequest.OrderItemDto itemDto : items) {
+            if (itemDto.getInventoryItemId() == null || itemDto.getQuantity() == null || itemDto.getQuantity() <= 0) {
+                throw new RuntimeException("Invalid order item");
+            }
+            quantities.merge(itemDto.getInventoryItemId(), itemDto.getQuantity(), Integer::sum);
+        }
+        return quantities;
     }
 
-    public Order processPayment(Long orderId, String customerEmail) throws AccessDeniedException {
+    private void takeStock(Map<Long, Integer> quantities, Map<Long, Inventory> inventoryById) {
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            if (inventoryById.get(line.getKey()).getQuantity() < line.getValue()) {
+                throw new RuntimeException("Not enough stock for item: " + inventoryById.get(line.getKey()).getName());
+            }
+        }
+
+        // Flash-sale items draw from their in-memory counter instead of the contended row
+        Map<Long, Integer> rowQuantities = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            if (!flashSaleStockService.isHot(line.getKey())) {
+                rowQuantities.put(line.getKey(), line.getValue());
+            } else if (!flashSaleStockService.reserve(line.getKey(), line.getValue())) {
+                throw new RuntimeException("Not enough stock for item: " + inventoryById.get(line.getKey()).getName());
+            }
+        }
+
+        // The guarded batch is the real stock check: a concurrent checkout may have taken the
+        // stock since it was read above. Throwing rolls back every decrement in the batch.
+        List<Long> outOfStock = rowQuantities.isEmpty() ? List.of() : inventoryRepository.decrementStock(rowQuantities);
+        if (!outOfStock.isEmpty()) {
+            throw new RuntimeException("Not enough stock for item: " + inventoryById.get(outOfStock.get(0)).getName());
+        }
+
+        if (rowQuantities.isEmpty()) {
+            return;
+        }
+        // Re-read after the decrement: this transaction now holds the rows, so the levels are exact
+        Map<Long, Integer> lowStockBySeller = new HashMap<>();
+        for (Object[] row : inventoryRepository.findStockLevels(rowQuantities.keySet())) {
+            long inventoryId = ((Number) row[0]).longValue();
+            long sellerId = ((Number) row[1]).longValue();
+            int remaining = ((Number) row[2]).intValue();
+            int before = remaining + rowQuantities.get(inventoryId);
+            if (SellerDashboardEvent.crossesThreshold(before, remaining, ((Number) row[3]).intValue())) {
+                lowStockBySeller.merge(sellerId, 1, Integer::sum);
+                eventPublisher.publishEvent(SellerDashboardEvent.lowStock(sellerId, inventoryId, remaining, true));
+            }
+        }
+        sellerStatsService.recordLowStockChanges(lowStockBySeller);
+    }
+
+    private static ShippingAddress toShippingAddress(OrderRequest.ShippingAddressDto dto, User customer) {
+        if (dto == null) {
+            return null;
+        }
+        ShippingAddress shippingAddress = new ShippingAddress();
+        shippingAddress.setStreet(dto.getStreet());
+        shippingAddress.setCity(dto.getCity());
+        shippingAddress.setState(dto.getState());
+        shippingAddress.setZipCode(dto.getZipCode());
+        shippingAddress.setCountry(dto.getCountry());
+        shippingAddress.setUser(customer); // Link to customer
+        return shippingAddress;
+    }
+
+    public Order processPayment(Long orderId, Long customerId) throws AccessDeniedException {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
-        User customer = userRepository.findByEmail(customerEmail)
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
-
         // Security check: ensure the user paying is the one who created the order
-        if (!order.getCustomer().getId().equals(customer.getId())) {
+        if (!order.getCustomer().getId().equals(customerId)) {
             throw new AccessDeniedException("You are not authorized to pay for this order.");
         }
 
         if (order.getStatus() == Order.OrderStatus.PENDING_PAYMENT) {
-            order.setStatus(Order.OrderStatus.PROCESSING);
-            return orderRepository.save(order);
+            stockReservationService.confirm(order);
+            eventPublisher.publishEvent(SellerDashboardEvent.statusChanged(order.getSeller().getId(), orderId,
+                    Order.OrderStatus.PENDING_PAYMENT.name(), order.getStatus().name()));
+            return order;
         } else {
             throw new RuntimeException("Order is not pending payment.");
         }
     }
 
-    public Order updateOrderStatus(Long orderId, Order.OrderStatus status, String userEmail)
+    public Order updateOrderStatus(Long orderId, Order.OrderStatus status, AuthenticatedUser user)
             throws AccessDeniedException {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
         // Only the seller of the order or an admin can update the status
-        if (!order.getSeller().getId().equals(user.getId()) && user.getUserType() != User.UserRole.ADMIN) {
+        if (!order.getSeller().getId().equals(user.getId()) && !user.isAdmin()) {
             throw new AccessDeniedException("You are not authorized to update this order.");
         }
 
+        if (!order.getStatus().canTransitionTo(status)) {
+            throw new RuntimeException("Cannot move an order from " + order.getStatus() + " to " + status + ".");
+        }
+        // Optimistic: the version check on flush fails if the order changed since it was read.
+        // The reservation row is taken first, the same lock order the sweeper and payment use.
+        Order.OrderStatus previous = order.getStatus();
+        if (previous == Order.OrderStatus.PENDING_PAYMENT) {
+            stockReservationRepository.deleteByOrderId(orderId);
+        }
         order.setStatus(status);
-        return orderRepository.save(order);
+        Order saved = orderRepository.saveAndFlush(order);
+        if (status == Order.OrderStatus.CANCELLED) {
+            stockLedgerService.restockOrders(List.of(orderId), StockMovement.MovementType.CANCELLATION);
+            if (previous.isActive()) {
+                salesAnalyticsService.recordCancelled(List.of(orderId));
+            }
+        } else if (previous == Order.OrderStatus.PENDING_PAYMENT && status.isActive()) {
+            // Marked paid by hand (e.g. cash on delivery): counts as a sale like a confirmed payment
+            salesAnalyticsService.recordPaid(List.of(orderId));
+        }
+        outboxService.recordOrderEvents(OutboxEvent.EventType.ORDER_STATUS_CHANGED, List.of(orderId));
+        sellerStatsService.recordTransition(order.getSeller().getId(), previous, status);
+        eventPublisher.publishEvent(SellerDashboardEvent.statusChanged(order.getSeller().getId(), orderId,
+                previous.name(), status.name()));
+        return saved;
+    }
+
+    /**
+     * Moves many orders to one status with a single guarded UPDATE. Orders are picked by id or,
+     * when no ids are given, as the caller's orders currently in currentStatus (up to
+     * MAX_BULK_ORDERS). Each requested order gets its own outcome; no Order entity is loaded.
+     */
+    public BulkStatusResponse updateOrderStatuses(BulkStatusRequest request, AuthenticatedUser user) {
+        if (request.getStatus() == null) {
+            throw new RuntimeException("Target status is required.");
+        }
+        // Sellers only ever see their own orders; other ids come back as NOT_FOUND
+        Long sellerId = user.isAdmin() ? null : user.getId();
+        List<Long> orderIds;
+        if (request.getOrderIds() != null && !request.getOrderIds().isEmpty()) {
+            orderIds = request.getOrderIds().stream().distinct().collect(Collectors.toList());
+            if (orderIds.size() > MAX_BULK_ORDERS) {
+                throw new RuntimeException("At most " + MAX_BULK_ORDERS + " orders can be updated at once.");
+            }
+        } else if (request.getCurrentStatus() != null) {
+            orderIds = orderRepository.findIdsByStatus(request.getCurrentStatus().name(), sellerId, MAX_BULK_ORDERS);
+        } else {
+            throw new RuntimeException("Either orderIds or currentStatus is required.");
+        }
+        if (orderIds.isEmpty()) {
+            return new BulkStatusResponse(request.getStatus(), 0, List.of());
+        }
+        return applyTransition(orderIds, request.getStatus(), sellerId);
+    }
+
+    /**
+     * Locks the orders (after their reservations, the lock order the sweeper and payment use),
+     * checks each current status against the transition table, and applies the move to the
+     * legal ones. Leaving PENDING_PAYMENT drops the reservation; cancelling puts the stock back.
+     */
+    private BulkStatusResponse applyTransition(List<Long> orderIds, Order.OrderStatus next, Long sellerId) {
+        Set<Order.OrderStatus> sources = Order.OrderStatus.sourcesOf(next);
+        boolean leavesPendingPayment = sources.contains(Order.OrderStatus.PENDING_PAYMENT);
+        if (leavesPendingPayment) {
+            stockReservationRepository.lockByOrderIds(orderIds);
+        }
+        Map<Long, Order.OrderStatus> current = new HashMap<>();
+        Map<Long, Long> sellerOf = new HashMap<>();
+        for (Object[] row : orderRepository.lockStatuses(orderIds, sellerId)) {
+            current.put(((Number) row[0]).longValue(), Order.OrderStatus.valueOf((String) row[1]));
+            sellerOf.put(((Number) row[0]).longValue(), ((Number) row[2]).longValue());
+        }
+
+        List<Long> eligible = new ArrayList<>();
+        List<BulkStatusResponse.Outcome> outcomes = new ArrayList<>(orderIds.size());
+        for (Long orderId : orderIds) {
+            Order.OrderStatus status = current.get(orderId);
+            BulkStatusResponse.Result result;
+            if (status == null) {
+                result = BulkStatusResponse.Result.NOT_FOUND;
+            } else if (status.canTransitionTo(next)) {
+                result = BulkStatusResponse.Result.UPDATED;
+                eligible.add(orderId);
+            } else {
+                result = BulkStatusResponse.Result.ILLEGAL_TRANSITION;
+            }
+            outcomes.add(new BulkStatusResponse.Outcome(orderId, result, status));
+        }
+
+        if (!eligible.isEmpty()) {
+            orderRepository.transitionStatuses(eligible, sources, next);
+            if (leavesPendingPayment) {
+                stockReservationRepository.deleteByOrderIds(eligible);
+            }
+            if (next == Order.OrderStatus.CANCELLED) {
+                stockLedgerService.restockOrders(eligible, StockMovement.MovementType.CANCELLATION);
+                // Only orders that were paid had their sale recorded
+                salesAnalyticsService.recordCancelled(eligible.stream()
+                        .filter(orderId -> current.get(orderId).isActive()).collect(Collectors.toList()));
+            } else if (next.isActive()) {
+                salesAnalyticsService.recordPaid(eligible.stream()
+                        .filter(orderId -> current.get(orderId) == Order.OrderStatus.PENDING_PAYMENT).collect(Collectors.toList()));
+            }
+            outboxService.recordOrderEvents(OutboxEvent.EventType.ORDER_STATUS_CHANGED, eligible);
+            Map<Long, Integer> activeOrdersBySeller = new HashMap<>();
+            for (Long orderId : eligible) {
+                activeOrdersBySeller.merge(sellerOf.get(orderId), SellerStatsService.activeDelta(current.get(orderId), next), Integer::sum);
+                eventPublisher.publishEvent(SellerDashboardEvent.statusChanged(sellerOf.get(orderId), orderId,
+                        current.get(orderId).name(), next.name()));
+            }
+            sellerStatsService.recordTransitions(activeOrdersBySeller);
+        }
+        return new BulkStatusResponse(next, eligible.size(), outcomes);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,239 @@
+package com.plantmanagement.service;
+
+import com.plantmanagement.entity.OutboxEvent;
+import com.plantmanagement.event.OutboxSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers outbox events to the enabled sinks, off the request path.
+ *
+ * Each poll claims a batch in a short transaction: SELECT ... FOR UPDATE SKIP LOCKED, then the
+ * rows' available_at is pushed past a lease so other dispatchers (and this one) leave them
+ * alone while they are delivered. Only the oldest pending event of each order is claimable, so
+ * an order's events are delivered strictly in order and a batch holds at most one per order;
+ * delivery runs in parallel on a small pool and results are written back in batch.
+ * Failures retry with jittered exponential backoff; after max-attempts an event goes DEAD.
+ * The events queued behind a failure are not tried (or charged an attempt) until it succeeds
+ * or goes DEAD; their available_at follows the failed event's retry time.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final List<OutboxSink> sinks;
+    private final int batchSize;
+    private final long leaseSeconds;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final long retentionHours;
+    private final ExecutorService pool;
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter dead;
+
+    public OutboxDispatcher(JdbcTemplate jdbcTemplate,
+                            NamedParameterJdbcTemplate namedJdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            List<OutboxSink> availableSinks,
+                            MeterRegistry meterRegistry,
+                            @Value("${outbox.sinks:log}") List<String> enabledSinks,
+                            @Value("${outbox.batch-size:500}") int batchSize,
+                            @Value("${outbox.lease-seconds:60}") long leaseSeconds,
+                            @Value("${outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${outbox.base-backoff-ms:1000}") long baseBackoffMs,
+                            @Value("${outbox.max-backoff-ms:600000}") long maxBackoffMs,
+                            @Value("${outbox.retention-hours:24}") long retentionHours,
+                            @Value("${outbox.dispatch-threads:4}") int threads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.sinks = availableSinks.stream().filter(sink -> enabledSinks.contains(sink.name())).toList();
+        this.batchSize = batchSize;
+        this.leaseSeconds = leaseSeconds;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.retentionHours = retentionHours;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "outbox-dispatch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.delivered = Counter.builder("outbox.events.delivered").register(meterRegistry);
+        this.failed = Counter.builder("outbox.events.failed").register(meterRegistry);
+        this.dead = Counter.builder("outbox.events.dead").register(meterRegistry);
+        log.info("Outbox sinks enabled: {}", sinks.stream().map(OutboxSink::name).toList());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        pool.shutdown();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:200}")
+    public void dispatch() {
+        List<OutboxEvent> batch;
+        do {
+            batch = claimBatch();
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT e.id FROM outbox_events e WHERE e.status = 'PENDING' AND e.available_at <= ? "
+                            + "AND NOT EXISTS (SELECT 1 FROM outbox_events older WHERE older.aggregate_id = e.aggregate_id "
+                            + "AND older.status = 'PENDING' AND older.id < e.id) "
+                            + "ORDER BY e.available_at, e.id LIMIT ? FOR UPDATE SKIP LOCKED",
+                    Long.class, Timestamp.valueOf(now), batchSize);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                    .addValue("leaseUntil", Timestamp.valueOf(now.plusSeconds(leaseSeconds)));
+            namedJdbcTemplate.update("UPDATE outbox_events SET available_at = :leaseUntil WHERE id IN (:ids)", params);
+            return namedJdbcTemplate.query(
+                    "SELECT id, event_type, aggregate_id, payload, attempts FROM outbox_events WHERE id IN (:ids) ORDER BY id",
+                    params, (rs, rowNum) -> {
+                        OutboxEvent event = new OutboxEvent();
+                        event.setId(rs.getLong("id"));
+                        event.setEventType(OutboxEvent.EventType.valueOf(rs.getString("event_type")));
+                        event.setAggregateId(rs.getLong("aggregate_id"));
+                        event.setPayload(rs.getString("payload"));
+                        event.setAttempts(rs.getInt("attempts"));
+                        return event;
+                    });
+        });
+    }
+
+    private void deliver(List<OutboxEvent> batch) {
+        Map<Long, String> errors = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            tasks.add(CompletableFuture.runAsync(() -> deliverToSinks(event, errors), pool));
+        }
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> deliveredIds = new ArrayList<>();
+        List<OutboxEvent> failedEvents = new ArrayList<>();
+        for (OutboxEvent event : batch) {
+            if (errors.containsKey(event.getId())) {
+                failedEvents.add(event);
+            } else {
+                deliveredIds.add(event.getId());
+            }
+        }
+        if (!deliveredIds.isEmpty()) {
+            namedJdbcTemplate.update("UPDATE outbox_events SET status = 'DELIVERED', available_at = :now WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", deliveredIds).addValue("now", Timestamp.valueOf(now)));
+            delivered.increment(deliveredIds.size());
+        }
+        if (!failedEvents.isEmpty()) {
+            Map<Long, Timestamp> retryAt = new HashMap<>();
+            jdbcTemplate.batchUpdate(
+                    "UPDATE outbox_events SET attempts = ?, status = ?, available_at = ?, last_error = ? WHERE id = ?",
+                    failedEvents, failedEvents.size(), (statement, event) -> {
+                        int attempts = event.getAttempts() + 1;
+                        boolean giveUp = attempts >= maxAttempts;
+                        Timestamp availableAt = Timestamp.valueOf(giveUp ? now : now.plusNanos(backoffMs(attempts) * 1_000_000));
+                        retryAt.put(event.getId(), availableAt);
+                        statement.setInt(1, attempts);
+                        statement.setString(2, giveUp ? "DEAD" : "PENDING");
+                        statement.setTimestamp(3, availableAt);
+                        statement.setString(4, errors.get(event.getId()));
+                        statement.setLong(5, event.getId());
+                    });
+            // The order's later events wait for the same retry, without being charged an attempt
+            jdbcTemplate.batchUpdate(
+                    "UPDATE outbox_events SET available_at = ? WHERE aggregate_id = ? AND status = 'PENDING' AND id > ? AND available_at < ?",
+                    failedEvents, failedEvents.size(), (statement, event) -> {
+                        Timestamp availableAt = retryAt.get(event.getId());
+                        statement.setTimestamp(1, availableAt);
+                        statement.setLong(2, event.getAggregateId());
+                        statement.setLong(3, event.getId());
+                        statement.setTimestamp(4, availableAt);
+                    });
+            failed.increment(failedEvents.size());
+            long deadCount = failedEvents.stream().filter(event -> event.getAttempts() + 1 >= maxAttempts).count();
+            if (deadCount > 0) {
+                dead.increment(deadCount);
+                log.warn("{} outbox events moved to DEAD after {} attempts", deadCount, maxAttempts);
+            }
+        }
+    }
+
+    private void deliverToSinks(OutboxEvent event, Map<Long, String> errors) {
+        try {
+            for (OutboxSink sink : sinks) {
+                sink.deliver(event);
+            }
+        } catch (Exception e) {
+            String failure = e.getClass().getSimpleName() + ": " + e.getMessage();
+            log.debug("Outbox event {} failed: {}", event.getId(), failure);
+            errors.put(event.getId(), truncate(failure));
+        }
+    }
+
+    // Exponential with full jitter, capped
+    private long backoffMs(int attempts) {
+        long ceiling = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempts - 1, 20));
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.purge-interval-ms:600000}",
+            initialDelayString = "${outbox.purge-interval-ms:600000}")
+    public void purgeDelivered() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusHours(retentionHours));
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(
+                    "DELETE FROM outbox_events WHERE status = 'DELIVERED' AND available_at <= ? LIMIT ?", cutoff, batchSize);
+            purged += deleted;
+        } while (deleted == batchSize);
+        if (purged > 0) {
+            log.info("Purged {} delivered outbox events", purged);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,75 @@
+package com.plantmanagement.service;
+
+import com.plantmanagement.dto.CursorPage;
+import com.plantmanagement.entity.OutboxEvent;
+import com.plantmanagement.repository.OutboxEventRepository;
+import com.plantmanagement.util.PageCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write side of the transactional outbox. Order events are inserted in the caller's transaction
+ * with one INSERT ... SELECT, so they commit or roll back with the state change and cost the
+ * request a single statement however many orders are involved. Delivery is OutboxDispatcher's job.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class OutboxService {
+
+    private static final String ORDER_EVENT_SQL =
+            "INSERT INTO outbox_events (event_type, aggregate_id, payload, status, attempts, available_at, created_at) "
+                    + "SELECT :eventType, o.id, JSON_OBJECT('orderId', o.id, 'customerId', o.customer_id, "
+                    + "'sellerId', o.seller_id, 'status', o.status, 'totalAmount', o.total_amount, 'orderDate', o.order_date), "
+                    + "'PENDING', 0, :now, :now FROM orders o WHERE o.id IN (:orderIds) ORDER BY o.id";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+
+    // The payload is a snapshot of each order row as this transaction sees it
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrderEvents(OutboxEvent.EventType eventType, Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        namedJdbcTemplate.update(ORDER_EVENT_SQL, new MapSqlParameterSource()
+                .addValue("eventType", eventType.name())
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("orderIds", orderIds));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<OutboxEvent.Status, Long> getStatusCounts() {
+        Map<OutboxEvent.Status, Long> counts = new EnumMap<>(OutboxEvent.Status.class);
+        for (OutboxEvent.Status status : OutboxEvent.Status.values()) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : outboxEventRepository.countByStatus()) {
+            counts.put((OutboxEvent.Status) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OutboxEvent> getDeadEvents(PageCursor after, int limit) {
+        List<OutboxEvent> rows = outboxEventRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                OutboxEvent.Status.DEAD, after == null ? 0L : after.getId(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, event -> PageCursor.ofId(event.getId()));
+    }
+
+    public int requeueDeadEvents() {
+        return outboxEventRepository.requeueDead(LocalDateTime.now());
+    }
+}
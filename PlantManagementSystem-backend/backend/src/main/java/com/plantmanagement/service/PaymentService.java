@@ -3,11 +3,11 @@ package com.plantmanagement.service;
 import com.plantmanagement.dto.PaymentRequest;
 import com.plantmanagement.entity.Order;
 import com.plantmanagement.entity.Payment;
-import com.plantmanagement.entity.User;
+import com.plantmanagement.event.SellerDashboardEvent;
 import com.plantmanagement.repository.OrderRepository;
 import com.plantmanagement.repository.PaymentRepository;
-import com.plantmanagement.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,18 +22,17 @@ public class PaymentService {
 
     private final PaymentRepository paymentRepository;
     private final OrderRepository orderRepository;
-    private final UserRepository userRepository;
+    private final StockReservationService stockReservationService;
+    private final SellerStatsService sellerStatsService;
+    private final ApplicationEventPublisher eventPublisher;
     
 
-     public Payment processPayment(Long orderId, PaymentRequest paymentRequest, String customerEmail) throws AccessDeniedException {
-        User customer = userRepository.findByEmail(customerEmail)
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
-
+     public Payment processPayment(Long orderId, PaymentRequest paymentRequest, Long customerId) throws AccessDeniedException {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
         // Security check: ensure the user paying is the one who created the order
-        if (!order.getCustomer().getId().equals(customer.getId())) {
+        if (!order.getCustomer().getId().equals(customerId)) {
             throw new AccessDeniedException("You are not authorized to pay for this order.");
         }
 
@@ -41,6 +40,10 @@ public class PaymentService {
             throw new RuntimeException("This order is not pending payment.");
         }
 
+        // Fails if the reservation already expired and the order was cancelled, or another
+        // payment got there first (version conflict, retried by the caller)
+        stockReservationService.confirm(order);
+
         // --- Payment Simulation ---
           Payment payment = new Payment();
         payment.setOrder(order);
@@ -50,11 +53,13 @@ public class PaymentService {
         payment.setTransactionId(paymentRequest.getTransactionId()); // Use the ID from the request
         payment.setStatus(Payment.PaymentStatus.COMPLETED);
         
-        paymentRepository.save(payment);
+        paymentRepository.save(payment); // payment.order_id is unique: one payment per order
 
-        // --- Update Order Status ---
-        order.setStatus(Order.OrderStatus.PROCESSING);
-        orderRepository.save(order);
+        Long sellerId = order.getSeller().getId();
+        sellerStatsService.recordPayment(sellerId, payment.getAmount());
+        eventPublisher.publishEvent(SellerDashboardEvent.statusChanged(sellerId, orderId,
+                Order.OrderStatus.PENDING_PAYMENT.name(), order.getStatus().name()));
+        eventPublisher.publishEvent(SellerDashboardEvent.revenueChanged(sellerId, orderId, payment.getAmount()));
 
         return payment;
     }
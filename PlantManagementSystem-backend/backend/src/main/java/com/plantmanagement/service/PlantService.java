@@ -1,9 +1,11 @@
 package com.plantmanagement.service;
 
+import com.plantmanagement.dto.PlantResponse;
 import com.plantmanagement.entity.Plant;
 import com.plantmanagement.repository.PlantRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+
 import java.util.List;
 
 @Service
@@ -11,12 +13,19 @@ import java.util.List;
 public class PlantService {
 
     private final PlantRepository plantRepository;
+    private final CatalogStore catalogStore;
+
+    public List<PlantResponse> getAllPlants() {
+        return catalogStore.plants().getItems();
+    }
 
-    public List<Plant> getAllPlants() {
-        return plantRepository.findAll();
+    public CatalogSnapshot<PlantResponse> getPlantCatalog() {
+        return catalogStore.plants();
     }
 
     public Plant createPlant(Plant plant) {
-        return plantRepository.save(plant);
+        Plant saved = plantRepository.save(plant);
+        catalogStore.addPlant(saved);
+        return saved;
     }
 }
\ No newline at end of file
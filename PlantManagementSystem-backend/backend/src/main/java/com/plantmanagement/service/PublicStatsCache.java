@@ -0,0 +1,107 @@
+package com.plantmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plantmanagement.dto.PublicStatsDTO;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The landing page's public stats, computed in the background and served from an immutable
+ * snapshot that is swapped in atomically, already serialized, so a request does no database work.
+ *
+ * Only a cold cache (a request before the first refresh finished) computes on the request path,
+ * and then only once: concurrent callers wait on the same in-flight refresh.
+ */
+@Slf4j
+@Component
+public class PublicStatsCache {
+
+    @Getter
+    public static final class Snapshot {
+        private final byte[] json;
+        private final String eTag;
+        private final Instant computedAt;
+
+        private Snapshot(PublicStatsDTO stats, byte[] json, Instant computedAt) {
+            this.json = json;
+            // Built from the counts, so clients keep a valid ETag across refreshes that changed nothing
+            this.eTag = "\"" + stats.getTotalCustomers() + "-" + stats.getTotalSellers() + "-"
+                    + stats.getTotalOrders() + "-" + stats.getTotalProducts() + "\"";
+            this.computedAt = computedAt;
+        }
+    }
+
+    private final DashboardService dashboardService;
+    private final ObjectMapper objectMapper;
+    @Getter
+    private final long refreshMs;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+
+    public PublicStatsCache(DashboardService dashboardService,
+                            ObjectMapper objectMapper,
+                            @Value("${dashboard.public-stats.refresh-ms:60000}") long refreshMs) {
+        this.dashboardService = dashboardService;
+        this.objectMapper = objectMapper;
+        this.refreshMs = refreshMs;
+    }
+
+    public Snapshot get() {
+        Snapshot snapshot = current.get();
+        return snapshot != null ? snapshot : refresh().join();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refreshQuietly();
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.public-stats.refresh-ms:60000}",
+            initialDelayString = "${dashboard.public-stats.refresh-ms:60000}")
+    public void refreshQuietly() {
+        try {
+            refresh().join();
+        } catch (RuntimeException e) {
+            // The previous snapshot keeps being served until a refresh succeeds
+            log.warn("Public stats refresh failed: {}", e.getMessage());
+        }
+    }
+
+    // Single flight: whoever installs the future computes, everyone else joins it
+    private CompletableFuture<Snapshot> refresh() {
+        CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+        CompletableFuture<Snapshot> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) {
+            return running;
+        }
+        try {
+            Snapshot snapshot = compute();
+            current.set(snapshot);
+            mine.complete(snapshot);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+        } finally {
+            inFlight.set(null);
+        }
+        return mine;
+    }
+
+    private Snapshot compute() {
+        PublicStatsDTO stats = dashboardService.getPublicStats();
+        try {
+            return new Snapshot(stats, objectMapper.writeValueAsBytes(stats), Instant.now());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize public stats", e);
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.plantmanagement.service;
 
+import com.plantmanagement.dto.CursorPage;
 import com.plantmanagement.entity.Review;
 import com.plantmanagement.entity.User;
 import com.plantmanagement.repository.ReviewRepository;
 import com.plantmanagement.repository.UserRepository;
 import com.plantmanagement.repository.OrderRepository;
+import com.plantmanagement.util.PageCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -24,10 +27,16 @@ public class ReviewService {
         return reviewRepository.findBySeller(seller);
     }
 
-    public Review createReview(Long sellerId, String reviewerEmail, int rating, String comment) {
+    public CursorPage<Review> getReviewsBySeller(Long sellerId, PageCursor after, int limit) {
+        List<Review> rows = reviewRepository.findBySellerIdAndIdLessThanOrderByIdDesc(
+                sellerId, after == null ? Long.MAX_VALUE : after.getId(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, review -> PageCursor.ofId(review.getId()));
+    }
+
+    public Review createReview(Long sellerId, Long reviewerId, int rating, String comment) {
         User seller = userRepository.findById(sellerId)
                 .orElseThrow(() -> new RuntimeException("Seller not found"));
-        User reviewer = userRepository.findByEmail(reviewerEmail)
+        User reviewer = userRepository.findById(reviewerId)
                 .orElseThrow(() -> new RuntimeException("Reviewer not found"));
 
         if (seller.getId().equals(reviewer.getId())) {
@@ -0,0 +1,182 @@
+package com.plantmanagement.service;
+
+import com.plantmanagement.dto.ItemSales;
+import com.plantmanagement.dto.SalesBucket;
+import com.plantmanagement.dto.SalesSummary;
+import com.plantmanagement.entity.SellerDailySales;
+import com.plantmanagement.repository.SellerDailySalesRepository;
+import com.plantmanagement.repository.SellerItemDailySalesRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seller sales analytics from pre-aggregated daily facts. Payment confirmation adds an order's
+ * lines to today's (seller, item, day) and (seller, day) rows, cancelling a paid order subtracts
+ * them on the day of the cancellation; both are one INSERT ... SELECT in the caller's
+ * transaction. Queries read at most one row per day (per item for item sales) of the range,
+ * however many orders the seller has.
+ */
+@Slf4j
+@Service
+public class SalesAnalyticsService {
+
+    public enum Granularity {
+        DAY,
+        WEEK,
+        MONTH
+    }
+
+    // Roughly ten years of daily buckets
+    private static final long MAX_RANGE_DAYS = 3660;
+
+    private static final String ITEM_FACTS_SQL =
+            "INSERT INTO seller_item_daily_sales (seller_id, day, inventory_id, units_sold, revenue) "
+                    + "SELECT o.seller_id, :day, oi.inventory_item_id, :sign * SUM(oi.quantity), :sign * SUM(oi.quantity * oi.price) "
+                    + "FROM orders o JOIN order_items oi ON oi.order_id = o.id WHERE o.id IN (:orderIds) "
+                    + "GROUP BY o.seller_id, oi.inventory_item_id ORDER BY o.seller_id, oi.inventory_item_id "
+                    + "ON DUPLICATE KEY UPDATE units_sold = units_sold + VALUES(units_sold), revenue = revenue + VALUES(revenue)";
+
+    private static final String ORDER_FACTS_SQL =
+            "INSERT INTO seller_daily_sales (seller_id, day, orders, revenue) "
+                    + "SELECT o.seller_id, :day, :sign * COUNT(*), :sign * SUM(o.total_amount) FROM orders o "
+                    + "WHERE o.id IN (:orderIds) GROUP BY o.seller_id ORDER BY o.seller_id "
+                    + "ON DUPLICATE KEY UPDATE orders = orders + VALUES(orders), revenue = revenue + VALUES(revenue)";
+
+    // Orders paid and not cancelled, dated by payment (or order date when paid without a payment row)
+    private static final String PAID_ORDERS = "FROM orders o LEFT JOIN payment p ON p.order_id = o.id ";
+    private static final String PAID_DAY = "DATE(COALESCE(p.pay_date, o.order_date))";
+    private static final String IS_PAID = "WHERE o.status IN ('PROCESSING', 'SHIPPED', 'DELIVERED') ";
+
+    private static final String BACKFILL_ITEM_FACTS_SQL =
+            "INSERT INTO seller_item_daily_sales (seller_id, day, inventory_id, units_sold, revenue) "
+                    + "SELECT o.seller_id, " + PAID_DAY + ", oi.inventory_item_id, SUM(oi.quantity), SUM(oi.quantity * oi.price) "
+                    + PAID_ORDERS + "JOIN order_items oi ON oi.order_id = o.id " + IS_PAID
+                    + "GROUP BY o.seller_id, " + PAID_DAY + ", oi.inventory_item_id";
+
+    private static final String BACKFILL_ORDER_FACTS_SQL =
+            "INSERT INTO seller_daily_sales (seller_id, day, orders, revenue) "
+                    + "SELECT o.seller_id, " + PAID_DAY + ", COUNT(*), SUM(o.total_amount) " + PAID_ORDERS + IS_PAID
+                    + "GROUP BY o.seller_id, " + PAID_DAY;
+
+    private final SellerDailySalesRepository sellerDailySalesRepository;
+    private final SellerItemDailySalesRepository sellerItemDailySalesRepository;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public SalesAnalyticsService(SellerDailySalesRepository sellerDailySalesRepository,
+                                 SellerItemDailySalesRepository sellerItemDailySalesRepository,
+                                 NamedParameterJdbcTemplate namedJdbcTemplate,
+                                 TransactionTemplate transactionTemplate) {
+        this.sellerDailySalesRepository = sellerDailySalesRepository;
+        this.sellerItemDailySalesRepository = sellerItemDailySalesRepository;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPaid(Collection<Long> orderIds) {
+        apply(orderIds, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCancelled(Collection<Long> paidOrderIds) {
+        apply(paidOrderIds, -1);
+    }
+
+    private void apply(Collection<Long> orderIds, int sign) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("day", Date.valueOf(LocalDate.now()))
+                .addValue("sign", sign)
+                .addValue("orderIds", orderIds);
+        namedJdbcTemplate.update(ORDER_FACTS_SQL, params);
+        namedJdbcTemplate.update(ITEM_FACTS_SQL, params);
+    }
+
+    // Fills the fact tables from existing orders the first time they are empty
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (sellerDailySalesRepository.count() > 0) {
+            return;
+        }
+        Integer days = transactionTemplate.execute(status -> {
+            namedJdbcTemplate.getJdbcTemplate().update(BACKFILL_ITEM_FACTS_SQL);
+            return namedJdbcTemplate.getJdbcTemplate().update(BACKFILL_ORDER_FACTS_SQL);
+        });
+        if (days != null && days > 0) {
+            log.info("Backfilled {} seller sales days from existing orders", days);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public SalesSummary getSales(Long sellerId, LocalDate from, LocalDate to, Granularity granularity) {
+        checkRange(from, to);
+        Map<LocalDate, long[]> orders = new LinkedHashMap<>();
+        Map<LocalDate, Double> revenue = new LinkedHashMap<>();
+        long totalOrders = 0;
+        double totalRevenue = 0;
+        for (SellerDailySales day : sellerDailySalesRepository.findBySellerIdAndDayBetweenOrderByDayAsc(sellerId, from, to)) {
+            LocalDate period = periodStart(day.getDay(), granularity);
+            orders.computeIfAbsent(period, p -> new long[1])[0] += day.getOrders();
+            revenue.merge(period, day.getRevenue(), Double::sum);
+            totalOrders += day.getOrders();
+            totalRevenue += day.getRevenue();
+        }
+        List<SalesBucket> buckets = new ArrayList<>(orders.size());
+        orders.forEach((period, count) -> buckets.add(
+                new SalesBucket(period, count[0], revenue.get(period), average(revenue.get(period), count[0]))));
+        return new SalesSummary(from, to, totalOrders, totalRevenue, average(totalRevenue, totalOrders), buckets);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ItemSales> getItemSales(Long sellerId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        List<ItemSales> items = new ArrayList<>();
+        for (Object[] row : sellerItemDailySalesRepository.sumByItem(sellerId, from, to)) {
+            items.add(new ItemSales(((Number) row[0]).longValue(), (String) row[1],
+                    ((Number) row[2]).longValue(), ((Number) row[3]).doubleValue()));
+        }
+        return items;
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("'from' must not be after 'to'.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new RuntimeException("The range can span at most " + MAX_RANGE_DAYS + " days.");
+        }
+    }
+
+    private static LocalDate periodStart(LocalDate day, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    private static double average(double revenue, long orders) {
+        return orders > 0 ? revenue / orders : 0.0;
+    }
+}
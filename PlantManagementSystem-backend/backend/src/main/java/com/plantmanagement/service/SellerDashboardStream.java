@@ -0,0 +1,282 @@
+package com.plantmanagement.service;
+
+import com.plantmanagement.dto.SellerDashboardStatsDTO;
+import com.plantmanagement.event.SellerDashboardEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Live seller dashboards over Server-Sent Events. A subscriber first gets a "snapshot" event with
+ * the full stats, then one event per committed change to its seller's orders, payments or stock.
+ *
+ * An open stream is an async servlet request: it holds a socket and an SseEmitter, not a thread.
+ * The stream is registered before its snapshot is read, so no change can fall between the two;
+ * events that arrive meanwhile wait behind the snapshot. Each stream has its own bounded queue,
+ * drained by at most one writer thread at a time, so it sees events in commit order and a slow
+ * client only ever blocks its own writer. A stream whose queue fills up is closed instead of
+ * buffering without limit; the client reconnects and starts again from a fresh snapshot.
+ *
+ * A change that commits after registration but before the snapshot read is both in the
+ * snapshot and queued behind it. Each transaction stamps its events with the seller's next
+ * seller_stats.seq just before commit and the snapshot carries the seq it was read at, so such
+ * events are dropped here rather than counted twice by the client.
+ * A comment line every heartbeat interval keeps proxies from closing idle streams and lets
+ * dead ones be found.
+ */
+@Slf4j
+@Service
+public class SellerDashboardStream {
+
+    private final SellerStatsService sellerStatsService;
+    private final Map<Long, Set<Subscriber>> subscribersBySeller = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService writers;
+    private final Counter overflows;
+    private final long timeoutMs;
+    private final int maxConnections;
+    private final int maxPerSeller;
+    private final int queueCapacity;
+
+    public SellerDashboardStream(SellerStatsService sellerStatsService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${dashboard.stream.timeout-ms:1800000}") long timeoutMs,
+                                 @Value("${dashboard.stream.max-connections:5000}") int maxConnections,
+                                 @Value("${dashboard.stream.max-per-seller:5}") int maxPerSeller,
+                                 @Value("${dashboard.stream.queue-capacity:64}") int queueCapacity,
+                                 @Value("${dashboard.stream.writer-threads:8}") int writerThreads) {
+        this.sellerStatsService = sellerStatsService;
+        this.timeoutMs = timeoutMs;
+        this.maxConnections = maxConnections;
+        this.maxPerSeller = maxPerSeller;
+        this.queueCapacity = queueCapacity;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "seller-dashboard-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("dashboard.stream.connections", connections, AtomicInteger::get).register(meterRegistry);
+        this.overflows = Counter.builder("dashboard.stream.overflows").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        writers.shutdown();
+        writers.awaitTermination(2, TimeUnit.SECONDS);
+        subscribersBySeller.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+    }
+
+    public SseEmitter subscribe(Long sellerId, Supplier<SellerDashboardStatsDTO> snapshot) {
+        if (connections.get() >= maxConnections) {
+            throw new IllegalStateException("Too many open dashboard streams. Please try again later.");
+        }
+        Subscriber subscriber = new Subscriber(sellerId, new SseEmitter(timeoutMs), queueCapacity);
+        // Added under the map's per-key lock so the heartbeat cannot drop the set in between
+        subscribersBySeller.compute(sellerId, (id, current) -> {
+            Set<Subscriber> set = current != null ? current : ConcurrentHashMap.newKeySet();
+            if (set.size() >= maxPerSeller) {
+                throw new IllegalStateException("Too many open dashboard streams for this seller.");
+            }
+            set.add(subscriber);
+            connections.incrementAndGet();
+            return set;
+        });
+        subscriber.emitter.onCompletion(subscriber::remove);
+        subscriber.emitter.onTimeout(subscriber::remove);
+        subscriber.emitter.onError(error -> subscriber.remove());
+
+        // Read only now that the stream is registered; changes from here on are queued behind it
+        SellerDashboardStatsDTO stats;
+        try {
+            stats = snapshot.get();
+        } catch (RuntimeException e) {
+            subscriber.close();
+            throw e;
+        }
+        subscriber.start(SseEmitter.event().name("snapshot").data(stats), stats.getSeq());
+        return subscriber.emitter;
+    }
+
+    // Collects the transaction's events so they can be stamped with one seq per seller before commit
+    @EventListener
+    public void onPublished(SellerDashboardEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Sequencer sequencer = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(Sequencer.class::isInstance).map(Sequencer.class::cast).findFirst()
+                .orElseGet(() -> {
+                    Sequencer created = new Sequencer();
+                    TransactionSynchronizationManager.registerSynchronization(created);
+                    return created;
+                });
+        sequencer.events.add(event);
+    }
+
+    // Runs after the publishing transaction commits, so a rolled-back order is never announced
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDashboardEvent(SellerDashboardEvent event) {
+        Set<Subscriber> subscribers = subscribersBySeller.get(event.getSellerId());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(SseEmitter.event().name(event.getType().name()).data(event), event.getSeq());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.stream.heartbeat-ms:20000}")
+    public void heartbeat() {
+        // Sellers with no open stream left are dropped here rather than on every disconnect
+        for (Long sellerId : subscribersBySeller.keySet()) {
+            subscribersBySeller.computeIfPresent(sellerId, (id, subscribers) -> subscribers.isEmpty() ? null : subscribers);
+        }
+        if (connections.get() == 0) {
+            return;
+        }
+        // Goes through the same queues, so a client that stopped reading overflows and is dropped
+        List<Subscriber> all = subscribersBySeller.values().stream().flatMap(Set::stream).toList();
+        all.forEach(subscriber -> subscriber.enqueue(SseEmitter.event().comment("keepalive"), null));
+    }
+
+    private final class Sequencer implements TransactionSynchronization {
+
+        private final List<SellerDashboardEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            Map<Long, Long> sequences = sellerStatsService.nextSequences(
+                    events.stream().map(SellerDashboardEvent::getSellerId).toList());
+            events.forEach(event -> event.setSeq(sequences.get(event.getSellerId())));
+        }
+    }
+
+    // seq is null for messages that are never already in a snapshot
+    private record Message(SseEmitter.SseEventBuilder event, Long seq) {
+    }
+
+    private final class Subscriber {
+
+        private final Long sellerId;
+        private final SseEmitter emitter;
+        private final BlockingDeque<Message> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean started;
+        private volatile boolean closed;
+        private long snapshotSeq = -1;
+
+        private Subscriber(Long sellerId, SseEmitter emitter, int capacity) {
+            this.sellerId = sellerId;
+            this.emitter = emitter;
+            this.queue = new LinkedBlockingDeque<>(capacity);
+        }
+
+        // Puts the snapshot ahead of the events that arrived while it was being read, less those it counts
+        private void start(SseEmitter.SseEventBuilder snapshot, long seq) {
+            boolean queued;
+            synchronized (this) {
+                snapshotSeq = seq;
+                queue.removeIf(message -> message.seq() != null && message.seq() <= seq);
+                queued = queue.offerFirst(new Message(snapshot, null));
+            }
+            if (!queued) {
+                overflow();
+                return;
+            }
+            started = true;
+            schedule();
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event, Long seq) {
+            boolean queued;
+            synchronized (this) {
+                if (closed || (seq != null && seq <= snapshotSeq)) {
+                    return;
+                }
+                queued = queue.offerLast(new Message(event, seq));
+            }
+            if (!queued) {
+                overflow();
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (started && !closed && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+                try {
+                    writers.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Message message;
+                while (!closed && (message = queue.poll()) != null) {
+                    emitter.send(message.event());
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; completing fires the removal callback
+                log.debug("Closing dashboard stream: {}", e.getMessage());
+                close();
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            // An event queued after the last poll but before the flag was cleared
+            schedule();
+        }
+
+        private void overflow() {
+            overflows.increment();
+            log.debug("Closing dashboard stream that fell {} events behind", queue.size());
+            close();
+            emitter.complete();
+        }
+
+        private void close() {
+            closed = true;
+            queue.clear();
+            remove();
+        }
+
+        // The heartbeat only drops empty sets, so the one holding this subscriber is still mapped
+        private void remove() {
+            Set<Subscriber> subscribers = subscribersBySeller.get(sellerId);
+            if (subscribers != null && subscribers.remove(this)) {
+                connections.decrementAndGet();
+            }
+        }
+    }
+}
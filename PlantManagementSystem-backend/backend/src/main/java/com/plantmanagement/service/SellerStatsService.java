@@ -0,0 +1,184 @@
+package com.plantmanagement.service;
+
+import com.plantmanagement.entity.Order;
+import com.plantmanagement.entity.SellerStats;
+import com.plantmanagement.repository.SellerStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Per-seller dashboard rollups. The order, payment and inventory paths apply their change as a
+ * delta upsert in their own transaction, so the dashboard reads one row by primary key instead
+ * of summing the seller's history. A rebuild recomputes every seller from the source tables.
+ *
+ * Daily revenue lives in SalesAnalyticsService's seller_daily_sales, net of cancellations.
+ *
+ * Deltas are written only when non-zero and as late in their transaction as the caller allows:
+ * the row is a per-seller lock until commit.
+ */
+@Slf4j
+@Service
+public class SellerStatsService {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO seller_stats (seller_id, total_revenue, active_orders, product_count, low_stock_count, seq, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, 0, ?) ON DUPLICATE KEY UPDATE "
+                    + "total_revenue = total_revenue + VALUES(total_revenue), active_orders = active_orders + VALUES(active_orders), "
+                    + "product_count = product_count + VALUES(product_count), low_stock_count = low_stock_count + VALUES(low_stock_count), "
+                    + "updated_at = VALUES(updated_at)";
+
+    private static final String SEQUENCE_SQL =
+            "INSERT INTO seller_stats (seller_id, total_revenue, active_orders, product_count, low_stock_count, seq, updated_at) "
+                    + "VALUES (?, 0, 0, 0, 0, 1, ?) ON DUPLICATE KEY UPDATE seq = seq + 1";
+
+    private final SellerStatsRepository sellerStatsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public SellerStatsService(SellerStatsRepository sellerStatsRepository,
+                              JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate) {
+        this.sellerStatsRepository = sellerStatsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPayment(Long sellerId, double amount) {
+        jdbcTemplate.update(UPSERT_SQL, sellerId, amount, 0, 0, 0, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(Long sellerId, Order.OrderStatus from, Order.OrderStatus to) {
+        int delta = activeDelta(from, to);
+        if (delta != 0) {
+            upsert(Map.of(sellerId, new long[]{delta, 0, 0}));
+        }
+    }
+
+    // activeOrdersBySeller: change in each seller's active order count
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransitions(Map<Long, Integer> activeOrdersBySeller) {
+        Map<Long, long[]> deltas = new TreeMap<>();
+        activeOrdersBySeller.forEach((sellerId, delta) -> {
+            if (delta != 0) {
+                deltas.put(sellerId, new long[]{delta, 0, 0});
+            }
+        });
+        upsert(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordProductAdded(Long sellerId, boolean lowStock) {
+        upsert(Map.of(sellerId, new long[]{0, 1, lowStock ? 1 : 0}));
+    }
+
+    // lowStockBySeller: change in each seller's count of items at or below their threshold
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordLowStockChanges(Map<Long, Integer> lowStockBySeller) {
+        Map<Long, long[]> deltas = new TreeMap<>();
+        lowStockBySeller.forEach((sellerId, delta) -> {
+            if (delta != 0) {
+                deltas.put(sellerId, new long[]{0, 0, delta});
+            }
+        });
+        upsert(deltas);
+    }
+
+    /**
+     * Bumps each seller's dashboard sequence and returns the new values. Called just before
+     * commit, after every delta of the transaction: a snapshot that reads a seq at or past the
+     * returned one already counts those deltas. Rows are locked in seller id order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, Long> nextSequences(Collection<Long> sellerIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<Long, Long> sequences = new TreeMap<>();
+        for (Long sellerId : new TreeSet<>(sellerIds)) {
+            jdbcTemplate.update(SEQUENCE_SQL, sellerId, now);
+            sequences.put(sellerId, jdbcTemplate.queryForObject("SELECT seq FROM seller_stats WHERE seller_id = ?", Long.class, sellerId));
+        }
+        return sequences;
+    }
+
+    public static int activeDelta(Order.OrderStatus from, Order.OrderStatus to) {
+        return (to.isActive() ? 1 : 0) - (from.isActive() ? 1 : 0);
+    }
+
+    // Deltas are {active orders, products, low stock}, applied in seller id order
+    private void upsert(Map<Long, long[]> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        new TreeMap<>(deltas).forEach((sellerId, delta) -> rows.add(new Object[]{sellerId, 0.0, delta[0], delta[1], delta[2], now}));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    }
+
+    // One primary-key lookup; a seller with no row yet has nothing counted
+    @Transactional(readOnly = true)
+    public SellerStats getStats(Long sellerId) {
+        return sellerStatsRepository.findById(sellerId).orElseGet(() -> {
+            SellerStats empty = new SellerStats();
+            empty.setSellerId(sellerId);
+            return empty;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (sellerStatsRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    // Safety net against drift, e.g. rows changed outside the application
+    @Scheduled(cron = "${seller-stats.rebuild-cron:0 30 3 * * *}")
+    public int rebuild() {
+        long start = System.nanoTime();
+        List<Long> sellerIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE user_type = 'SELLER' ORDER BY id", Long.class);
+        for (Long sellerId : sellerIds) {
+            transactionTemplate.executeWithoutResult(status -> rebuildSeller(sellerId));
+        }
+        log.info("Rebuilt seller stats for {} sellers in {} ms", sellerIds.size(), (System.nanoTime() - start) / 1_000_000);
+        return sellerIds.size();
+    }
+
+    /**
+     * Locks the seller's row before the first plain read, so the recount's snapshot is taken
+     * after it: a concurrent change either committed before (and is counted) or is still waiting
+     * to apply its delta on this row (and adds it after the recount commits).
+     */
+    private void rebuildSeller(Long sellerId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO seller_stats (seller_id, total_revenue, active_orders, product_count, low_stock_count, seq, updated_at) "
+                + "VALUES (?, 0, 0, 0, 0, 0, ?) ON DUPLICATE KEY UPDATE seller_id = seller_id", sellerId, now);
+
+        Double revenue = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(p.amount), 0) FROM payment p JOIN orders o ON o.id = p.order_id "
+                + "WHERE o.seller_id = ? AND p.payment_status = 'COMPLETED'", Double.class, sellerId);
+        Long activeOrders = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE seller_id = ? "
+                + "AND status IN ('PROCESSING', 'SHIPPED')", Long.class, sellerId);
+        Map<String, Object> inventory = jdbcTemplate.queryForMap("SELECT COUNT(*) AS products, "
+                + "COALESCE(SUM(quantity <= low_stock_threshold), 0) AS low_stock FROM inventory WHERE seller_id = ?", sellerId);
+        jdbcTemplate.update("UPDATE seller_stats SET total_revenue = ?, active_orders = ?, product_count = ?, low_stock_count = ?, "
+                        + "updated_at = ? WHERE seller_id = ?", revenue, activeOrders,
+                ((Number) inventory.get("products")).longValue(), ((Number) inventory.get("low_stock")).longValue(), now, sellerId);
+    }
+}
@@ -0,0 +1,290 @@
+package com.plantmanagement.service;
+
+import com.plantmanagement.dto.CursorPage;
+import com.plantmanagement.dto.StockLevelResponse;
+import com.plantmanagement.entity.InventorySnapshot;
+import com.plantmanagement.entity.StockMovement;
+import com.plantmanagement.event.SellerDashboardEvent;
+import com.plantmanagement.repository.InventoryRepository;
+import com.plantmanagement.repository.InventorySnapshotRepository;
+import com.plantmanagement.repository.OrderItemRepository;
+import com.plantmanagement.repository.StockMovementRepository;
+import com.plantmanagement.util.PageCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Append-only stock ledger. Every stock change is recorded as a stock_movements row (inserts
+ * only, so writers never contend on a shared row), and a periodic compaction folds the ledger
+ * into one inventory_snapshots row per item. An item's ledger stock is its snapshot plus the
+ * movements after it, read in O(tail).
+ *
+ * Compaction only folds movements older than a safety delay, so transactions that drew a lower
+ * id but commit later are never skipped. A MySQL named lock keeps nodes from folding twice.
+ */
+@Slf4j
+@Service
+public class StockLedgerService {
+
+    private static final String COMPACTION_LOCK = "inventory_ledger_compaction";
+    private static final int COMPACTION_CHUNK = 50_000;
+
+    private static final String FOLD_SQL =
+            "INSERT INTO inventory_snapshots (inventory_id, quantity, last_movement_id, updated_at) "
+                    + "SELECT inventory_id, SUM(quantity_delta), MAX(id), ? FROM stock_movements "
+                    + "WHERE id > ? AND id <= ? GROUP BY inventory_id "
+                    + "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), "
+                    + "last_movement_id = VALUES(last_movement_id), updated_at = VALUES(updated_at)";
+
+    private final StockMovementRepository stockMovementRepository;
+    private final InventorySnapshotRepository inventorySnapshotRepository;
+    private final InventoryRepository inventoryRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final FlashSaleStockService flashSaleStockService;
+    private final SellerStatsService sellerStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long compactDelayMs;
+
+    public StockLedgerService(StockMovementRepository stockMovementRepository,
+                              InventorySnapshotRepository inventorySnapshotRepository,
+                              InventoryRepository inventoryRepository,
+                              OrderItemRepository orderItemRepository,
+                              FlashSaleStockService flashSaleStockService,
+                              SellerStatsService sellerStatsService,
+                              ApplicationEventPublisher eventPublisher,
+                              JdbcTemplate jdbcTemplate,
+                              NamedParameterJdbcTemplate namedJdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${inventory.ledger.compact-delay-ms:60000}") long compactDelayMs) {
+        this.stockMovementRepository = stockMovementRepository;
+        this.inventorySnapshotRepository = inventorySnapshotRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.flashSaleStockService = flashSaleStockService;
+        this.sellerStatsService = sellerStatsService;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.compactDelayMs = compactDelayMs;
+    }
+
+    // Items that predate the ledger start from their current stock, less flash-sale units not yet flushed
+    @EventListener(ApplicationReadyEvent.class)
+    public void recordOpeningBalances() {
+        Integer opened = transactionTemplate.execute(status -> jdbcTemplate.update(
+                "INSERT INTO stock_movements (inventory_id, type, quantity_delta, created_at) "
+                        + "SELECT i.id, 'OPENING_BALANCE', i.quantity - COALESCE((SELECT SUM(p.quantity) "
+                        + "FROM flash_sale_pending p WHERE p.inventory_id = i.id), 0), ? FROM inventory i "
+                        + "WHERE NOT EXISTS (SELECT 1 FROM stock_movements m WHERE m.inventory_id = i.id)",
+                Timestamp.valueOf(LocalDateTime.now())));
+        if (opened != null && opened > 0) {
+            log.info("Recorded opening stock balances for {} inventory items", opened);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long inventoryId, StockMovement.MovementType type, int quantityDelta, Long orderId) {
+        StockMovement movement = new StockMovement();
+        movement.setInventoryId(inventoryId);
+        movement.setType(type);
+        movement.setQuantityDelta(quantityDelta);
+        movement.setOrderId(orderId);
+        movement.setCreatedAt(LocalDateTime.now());
+        stockMovementRepository.save(movement);
+    }
+
+    // One batch for every line of every order in a checkout, keyed by order id then inventory id
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSales(Map<Long, Map<Long, Integer>> quantitiesByOrder) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<long[]> lines = new ArrayList<>();
+        quantitiesByOrder.forEach((orderId, quantities) ->
+                quantities.forEach((inventoryId, quantity) -> lines.add(new long[]{orderId, inventoryId, quantity})));
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO stock_movements (inventory_id, type, quantity_delta, order_id, created_at) VALUES (?, 'SALE', ?, ?, ?)",
+                lines, lines.size(), (statement, line) -> {
+                    statement.setLong(1, line[1]);
+                    statement.setLong(2, -line[2]);
+                    statement.setLong(3, line[0]);
+                    statement.setTimestamp(4, now);
+                });
+    }
+
+    /**
+     * Puts the stock of whole orders back: one aggregated UPDATE on the inventory rows, one
+     * INSERT ... SELECT into the ledger, and the flash-sale counters once the transaction commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void restockOrders(Collection<Long> orderIds, StockMovement.MovementType type) {
+        inventoryRepository.restockOrders(orderIds);
+        namedJdbcTemplate.update(
+                "INSERT INTO stock_movements (inventory_id, type, quantity_delta, order_id, created_at) "
+                        + "SELECT inventory_item_id, :type, SUM(quantity), order_id, :now FROM order_items "
+                        + "WHERE order_id IN (:orderIds) GROUP BY order_id, inventory_item_id",
+                new MapSqlParameterSource()
+                        .addValue("type", type.name())
+                        .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                        .addValue("orderIds", orderIds));
+        returnFlashSaleStock(orderIds);
+
+        // Items the restock lifted back above their threshold leave their seller's low-stock count
+        Map<Long, Integer> lowStockBySeller = new HashMap<>();
+        for (Object[] row : inventoryRepository.findRestockedLevels(orderIds)) {
+            long sellerId = ((Number) row[1]).longValue();
+            int after = ((Number) row[2]).intValue();
+            int threshold = ((Number) row[3]).intValue();
+            if (SellerDashboardEvent.crossesThreshold(after - ((Number) row[4]).intValue(), after, threshold)) {
+                lowStockBySeller.merge(sellerId, -1, Integer::sum);
+                eventPublisher.publishEvent(SellerDashboardEvent.lowStock(sellerId, ((Number) row[0]).longValue(), after, false));
+            }
+        }
+        sellerStatsService.recordLowStockChanges(lowStockBySeller);
+    }
+
+    @Transactional(readOnly = true)
+    public StockLevelResponse getStockLevel(Long inventoryId) {
+        InventorySnapshot snapshot = inventorySnapshotRepository.findById(inventoryId).orElse(null);
+        long snapshotQuantity = snapshot != null ? snapshot.getQuantity() : 0;
+        long snapshotMovementId = snapshot != null ? snapshot.getLastMovementId() : 0;
+        Object[] tail = stockMovementRepository.sumTail(inventoryId, snapshotMovementId).get(0);
+        return new StockLevelResponse(inventoryId, snapshotQuantity + ((Number) tail[0]).longValue(),
+                snapshotQuantity, snapshotMovementId, ((Number) tail[1]).longValue());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<StockMovement> getMovements(Long inventoryId, PageCursor after, int limit) {
+        List<StockMovement> rows = stockMovementRepository.findByInventoryIdAndIdLessThanOrderByIdDesc(
+                inventoryId, after == null ? Long.MAX_VALUE : after.getId(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, movement -> PageCursor.ofId(movement.getId()));
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.ledger.compact-interval-ms:60000}",
+            initialDelayString = "${inventory.ledger.compact-interval-ms:60000}")
+    public void compact() {
+        Long watermark = stockMovementRepository.findWatermark(LocalDateTime.now().minus(Duration.ofMillis(compactDelayMs)));
+        if (watermark == null) {
+            return;
+        }
+        long folded = foldUpTo(watermark, false);
+        if (folded > 0) {
+            log.debug("Compacted {} stock movements into snapshots", folded);
+        }
+    }
+
+    // Rebuild tool: drops every snapshot and folds the whole ledger again
+    public long rebuildSnapshots() {
+        Long watermark = stockMovementRepository.findWatermark(LocalDateTime.now().minus(Duration.ofMillis(compactDelayMs)));
+        long folded = foldUpTo(watermark != null ? watermark : 0, true);
+        log.info("Rebuilt inventory snapshots from {} stock movements", folded);
+        return folded;
+    }
+
+    /**
+     * Folds movements up to the watermark in chunks, one short transaction each. Every snapshot
+     * covers the same prefix of the ledger, so the highest lastMovementId is where the next chunk
+     * starts. Returns the number of movements folded, or 0 if another node holds the lock.
+     *
+     * The named lock is taken on a connection of its own and held across all chunks: it is only
+     * released after the last fold committed, so no other node can read a pre-commit start.
+     */
+    private long foldUpTo(long watermark, boolean rebuild) {
+        try (Connection lockConnection = jdbcTemplate.getDataSource().getConnection()) {
+            if (namedLock(lockConnection, "SELECT GET_LOCK(?, 0)") != 1) {
+                return 0;
+            }
+            try {
+                return foldChunks(watermark, rebuild);
+            } finally {
+                namedLock(lockConnection, "SELECT RELEASE_LOCK(?)");
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not take the ledger compaction lock", e);
+        }
+    }
+
+    private long foldChunks(long watermark, boolean rebuild) {
+        long folded = 0;
+        boolean first = true;
+        while (true) {
+            boolean reset = rebuild && first;
+            Long chunk = transactionTemplate.execute(status -> {
+                if (reset) {
+                    jdbcTemplate.update("DELETE FROM inventory_snapshots");
+                }
+                Long from = jdbcTemplate.queryForObject(
+                        "SELECT COALESCE(MAX(last_movement_id), 0) FROM inventory_snapshots", Long.class);
+                long start = from != null ? from : 0;
+                if (start >= watermark) {
+                    return -1L;
+                }
+                List<Long> chunkEnd = jdbcTemplate.queryForList(
+                        "SELECT id FROM stock_movements WHERE id > ? AND id <= ? ORDER BY id LIMIT 1 OFFSET " + (COMPACTION_CHUNK - 1),
+                        Long.class, start, watermark);
+                long end = chunkEnd.isEmpty() ? watermark : chunkEnd.get(0);
+                jdbcTemplate.update(FOLD_SQL, Timestamp.valueOf(LocalDateTime.now()), start, end);
+                Long count = jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM stock_movements WHERE id > ? AND id <= ?", Long.class, start, end);
+                // Nothing left between the last snapshot and the watermark
+                return count == null || count == 0 ? -1L : count;
+            });
+            first = false;
+            if (chunk == null || chunk < 0) {
+                return folded;
+            }
+            folded += chunk;
+        }
+    }
+
+    private static int namedLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, COMPACTION_LOCK);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    private void returnFlashSaleStock(Collection<Long> orderIds) {
+        Set<Long> hotItems = flashSaleStockService.hotItems();
+        if (hotItems.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (Object[] row : orderItemRepository.sumQuantitiesByItem(orderIds, hotItems)) {
+            quantities.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        if (!quantities.isEmpty()) {
+            flashSaleStockService.restockAfterCommit(quantities);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.plantmanagement.service;
+
+import com.plantmanagement.entity.Order;
+import com.plantmanagement.entity.OutboxEvent;
+import com.plantmanagement.event.SellerDashboardEvent;
+import com.plantmanagement.entity.StockMovement;
+import com.plantmanagement.repository.OrderRepository;
+import com.plantmanagement.repository.StockReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Time-limited hold on the stock taken by an unpaid order. Checkout records a reservation with
+ * a deadline, payment confirms (deletes) it, and a scheduled sweeper cancels orders whose
+ * reservation expired and puts their stock back, one short transaction per batch.
+ *
+ * Lock order is always reservation row, then order row: the sweeper skips reservations a
+ * paying customer holds, and the order's version check decides who wins otherwise.
+ */
+@Slf4j
+@Service
+public class StockReservationService {
+
+    private final StockReservationRepository stockReservationRepository;
+    private final OrderRepository orderRepository;
+    private final StockLedgerService stockLedgerService;
+    private final OutboxService outboxService;
+    private final SellerStatsService sellerStatsService;
+    private final SalesAnalyticsService salesAnalyticsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final long ttlMinutes;
+    private final int batchSize;
+
+    public StockReservationService(StockReservationRepository stockReservationRepository,
+                                   OrderRepository orderRepository,
+                                   StockLedgerService stockLedgerService,
+                                   OutboxService outboxService,
+                                   SellerStatsService sellerStatsService,
+                                   SalesAnalyticsService salesAnalyticsService,
+                                   ApplicationEventPublisher eventPublisher,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${orders.reservation.ttl-minutes:30}") long ttlMinutes,
+                                   @Value("${orders.reservation.sweep-batch-size:1000}") int batchSize) {
+        this.stockReservationRepository = stockReservationRepository;
+        this.orderRepository = orderRepository;
+        this.stockLedgerService = stockLedgerService;
+        this.outboxService = outboxService;
+        this.sellerStatsService = sellerStatsService;
+        this.salesAnalyticsService = salesAnalyticsService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.ttlMinutes = ttlMinutes;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Collection<Long> orderIds) {
+        LocalDateTime now = LocalDateTime.now();
+        stockReservationRepository.insertAll(orderIds, now.plusMinutes(ttlMinutes), now);
+    }
+
+    /**
+     * Called from the payment paths inside their transaction, with the order they loaded. Removes
+     * the reservation and moves the order to PROCESSING; the flush fails with a version conflict
+     * if the sweeper (or a concurrent payment) changed the order after it was read. Both payment
+     * paths come through here, so this is where ORDER_PAID, the new active order and the sale
+     * are recorded.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void confirm(Order order) {
+        stockReservationRepository.deleteByOrderId(order.getId());
+        if (order.getStatus() != Order.OrderStatus.PENDING_PAYMENT) {
+            throw new RuntimeException("This order is not pending payment.");
+        }
+        order.setStatus(Order.OrderStatus.PROCESSING);
+        orderRepository.saveAndFlush(order);
+        outboxService.recordOrderEvents(OutboxEvent.EventType.ORDER_PAID, List.of(order.getId()));
+        sellerStatsService.recordTransition(order.getSeller().getId(), Order.OrderStatus.PENDING_PAYMENT, Order.OrderStatus.PROCESSING);
+        salesAnalyticsService.recordPaid(List.of(order.getId()));
+    }
+
+    @Scheduled(fixedDelayString = "${orders.reservation.sweep-interval-ms:30000}",
+            initialDelayString = "${orders.reservation.sweep-interval-ms:30000}")
+    public void sweepExpired() {
+        long start = System.nanoTime();
+        int cancelled = 0;
+        int[] batch;
+        do {
+            batch = transactionTemplate.execute(status -> sweepBatch(LocalDateTime.now()));
+            cancelled += batch[1];
+        } while (batch[0] == batchSize);
+        if (cancelled > 0) {
+            log.info("Cancelled {} orders with expired stock reservations in {} ms",
+                    cancelled, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    // Returns {reservations swept, orders cancelled}
+    private int[] sweepBatch(LocalDateTime now) {
+        List<Long> expired = stockReservationRepository.lockExpired(now, batchSize);
+        if (expired.isEmpty()) {
+            return new int[]{0, 0};
+        }
+        // Orders already paid, cancelled or shipped only need their stale reservation removed
+        List<Object[]> rows = orderRepository.lockPendingPayment(expired);
+        List<Long> cancellable = new ArrayList<>(rows.size());
+        rows.forEach(row -> cancellable.add(((Number) row[0]).longValue()));
+        if (!cancellable.isEmpty()) {
+            stockLedgerService.restockOrders(cancellable, StockMovement.MovementType.RESERVATION_RELEASE);
+            orderRepository.updateStatus(cancellable, Order.OrderStatus.CANCELLED);
+            outboxService.recordOrderEvents(OutboxEvent.EventType.ORDER_STATUS_CHANGED, cancellable);
+            rows.forEach(row -> eventPublisher.publishEvent(SellerDashboardEvent.statusChanged(((Number) row[1]).longValue(),
+                    ((Number) row[0]).longValue(), "PENDING_PAYMENT", "CANCELLED")));
+        }
+        stockReservationRepository.deleteByOrderIds(expired);
+        return new int[]{expired.size(), cancellable.size()};
+    }
+}
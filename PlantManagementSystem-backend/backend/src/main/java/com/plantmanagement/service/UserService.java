@@ -3,6 +3,7 @@ package com.plantmanagement.service;
 import com.plantmanagement.dto.UserUpdateRequest;
 import com.plantmanagement.entity.User;
 import com.plantmanagement.repository.UserRepository;
+import com.plantmanagement.security.UserIdentityCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +14,7 @@ import java.util.List;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
 
     public List<User> getActiveSellers() {
         return userRepository.findActiveSellers();
@@ -23,8 +25,13 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
-    public User updateUserProfile(String email, UserUpdateRequest request) {
-        User user = getUserByEmail(email);
+    public User getUserById(Long id) {
+        return userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    public User updateUserProfile(Long id, UserUpdateRequest request) {
+        User user = getUserById(id);
         if (request.getName() != null)
             user.setName(request.getName());
         if (request.getPhoneNumber() != null)
@@ -33,6 +40,8 @@ public class UserService {
             user.setAddress(request.getAddress());
         if (request.getShopName() != null)
             user.setShopName(request.getShopName());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userIdentityCache.invalidate(id);
+        return saved;
     }
 }
\ No newline at end of file
@@ -1,15 +1,22 @@
 package com.plantmanagement.util;
 
+import com.plantmanagement.security.VerifiedClaims;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
 
 @Component
@@ -21,8 +28,14 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}") // 24 hours
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // The key and parser are immutable and thread-safe, so build them once
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
     public String generateToken(String email, String userId, String role) {
@@ -38,14 +51,27 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiry of the token with a single parse and returns its claims.
+     * Throws a {@link io.jsonwebtoken.JwtException} if the token is invalid or expired.
+     */
+    public VerifiedClaims verify(String token, String digest) {
+        Claims claims = extractAllClaims(token);
+        return new VerifiedClaims(
+                digest,
+                claims.getSubject(),
+                claims.get("userId", String.class),
+                claims.get("role", String.class),
+                claims.getExpiration().getTime());
+    }
+
     public Boolean isTokenValid(String token) {
         try {
-            Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token);
-            return !isTokenExpired(token);
+            return !extractAllClaims(token).getExpiration().before(new Date());
         } catch (Exception e) {
             return false;
         }
@@ -73,10 +99,18 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token).getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * SHA-256 hex digest of the raw token, used to key caches without holding the token itself.
+     */
+    public static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-}
\ No newline at end of file
+}
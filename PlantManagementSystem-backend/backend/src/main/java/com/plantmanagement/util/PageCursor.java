@@ -0,0 +1,53 @@
+package com.plantmanagement.util;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page: the sort key and the id that breaks ties. Clients
+ * only ever see the opaque URL-safe token produced by {@link #encode()}.
+ */
+@Value
+public class PageCursor {
+    String sortKey; // empty when the list is sorted by id alone
+    long id;
+
+    public static PageCursor ofId(long id) {
+        return new PageCursor("", id);
+    }
+
+    public static PageCursor of(LocalDateTime sortKey, long id) {
+        return new PageCursor(sortKey.toString(), id);
+    }
+
+    // Null or blank tokens mean "first page"
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new PageCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((sortKey + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime sortKeyAsDateTime() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.plantmanagement.service;
+
+import com.plantmanagement.dto.AdminOrderResponse;
+import com.plantmanagement.dto.CursorPage;
+import com.plantmanagement.dto.OrderResponse;
+import com.plantmanagement.entity.Inventory;
+import com.plantmanagement.entity.Order;
+import com.plantmanagement.entity.OrderItem;
+import com.plantmanagement.entity.ShippingAddress;
+import com.plantmanagement.entity.User;
+import com.plantmanagement.util.PageCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Order lists must cost a fixed number of SQL statements however many orders they hold: one
+ * projection query for the orders and one IN query for all their items.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:orders;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=DAY,VALUE,KEY",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(OrderQueryService.class)
+class OrderQueryServiceTest {
+
+    private static final int LARGE = 500;
+    private static final int SMALL = 3;
+    private static final int ITEMS_PER_ORDER = 2;
+    private static final long STATEMENTS_PER_LIST = 2;
+
+    @Autowired
+    private OrderQueryService orderQueryService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User bigCustomer;
+    private User smallCustomer;
+    private User bigSeller;
+    private User smallSeller;
+
+    @BeforeEach
+    void seed() {
+        bigCustomer = persistUser("big-customer", User.UserRole.CUSTOMER);
+        smallCustomer = persistUser("small-customer", User.UserRole.CUSTOMER);
+        bigSeller = persistUser("big-seller", User.UserRole.SELLER);
+        smallSeller = persistUser("small-seller", User.UserRole.SELLER);
+        List<Inventory> bigStock = List.of(persistInventory(bigSeller, "Rose"), persistInventory(bigSeller, "Neem oil"));
+        List<Inventory> smallStock = List.of(persistInventory(smallSeller, "Tulsi"), persistInventory(smallSeller, "Copper spray"));
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 0; i < LARGE; i++) {
+            persistOrder(bigCustomer, bigSeller, bigStock, start.plusMinutes(i));
+        }
+        for (int i = 0; i < SMALL; i++) {
+            persistOrder(smallCustomer, smallSeller, smallStock, start.plusMinutes(i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void customerOrdersTakeAFixedNumberOfStatements() {
+        List<OrderResponse> large = assertStatements(() -> orderQueryService.getOrdersByCustomer(bigCustomer.getId()));
+        List<OrderResponse> small = assertStatements(() -> orderQueryService.getOrdersByCustomer(smallCustomer.getId()));
+
+        assertEquals(LARGE, large.size());
+        assertEquals(SMALL, small.size());
+        assertTrue(large.stream().allMatch(order -> order.getItems().size() == ITEMS_PER_ORDER));
+    }
+
+    @Test
+    void sellerOrdersTakeAFixedNumberOfStatements() {
+        List<OrderResponse> large = assertStatements(() -> orderQueryService.getOrdersBySeller(bigSeller.getId()));
+        List<OrderResponse> small = assertStatements(() -> orderQueryService.getOrdersBySeller(smallSeller.getId()));
+
+        assertEquals(LARGE, large.size());
+        assertEquals(SMALL, small.size());
+        assertTrue(large.stream().allMatch(order -> order.getItems().size() == ITEMS_PER_ORDER));
+    }
+
+    @Test
+    void adminOrdersTakeAFixedNumberOfStatements() {
+        List<AdminOrderResponse> all = assertStatements(orderQueryService::getAllOrders);
+
+        assertEquals(LARGE + SMALL, all.size());
+    }
+
+    @Test
+    void keysetPagesTakeAFixedNumberOfStatements() {
+        int limit = CursorPage.MAX_LIMIT;
+        CursorPage<OrderResponse> first = assertStatements(
+                () -> orderQueryService.getOrdersByCustomer(bigCustomer.getId(), null, limit));
+        CursorPage<OrderResponse> second = assertStatements(
+                () -> orderQueryService.getOrdersByCustomer(bigCustomer.getId(), PageCursor.decode(first.getNextCursor()), limit));
+        CursorPage<OrderResponse> sellerPage = assertStatements(
+                () -> orderQueryService.getOrdersBySeller(bigSeller.getId(), PageCursor.decode(first.getNextCursor()), limit));
+        CursorPage<AdminOrderResponse> adminPage = assertStatements(() -> orderQueryService.getAllOrders(null, limit));
+
+        assertEquals(limit, first.getItems().size());
+        assertEquals(limit, second.getItems().size());
+        assertEquals(limit, sellerPage.getItems().size());
+        assertEquals(limit, adminPage.getItems().size());
+        assertTrue(second.getItems().stream().allMatch(order -> order.getItems().size() == ITEMS_PER_ORDER));
+    }
+
+    private <T> T assertStatements(Supplier<T> list) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+        T result = list.get();
+        assertEquals(STATEMENTS_PER_LIST, statistics.getPrepareStatementCount());
+        return result;
+    }
+
+    private User persistUser(String name, User.UserRole role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("password");
+        user.setUserType(role);
+        user.setPhoneNumber("01700000000");
+        user.setShopName(role == User.UserRole.SELLER ? name + " shop" : null);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Inventory persistInventory(User seller, String name) {
+        Inventory inventory = new Inventory();
+        inventory.setName(name);
+        inventory.setType("PLANT");
+        inventory.setPrice(100.0);
+        inventory.setQuantity(10_000);
+        inventory.setLowStockThreshold(5);
+        inventory.setSeller(seller);
+        entityManager.persist(inventory);
+        return inventory;
+    }
+
+    private void persistOrder(User customer, User seller, List<Inventory> stock, LocalDateTime orderDate) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setSeller(seller);
+        order.setStatus(Order.OrderStatus.PROCESSING);
+        order.setOrderDate(orderDate);
+        order.setShippingAddress(new ShippingAddress(null, "1 Garden Road", "Dhaka", "Dhaka", "1207", "Bangladesh", customer));
+
+        List<OrderItem> items = new ArrayList<>(stock.size());
+        for (Inventory inventory : stock) {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setInventoryItem(inventory);
+            item.setQuantity(1);
+            item.setPrice(inventory.getPrice());
+            items.add(item);
+        }
+        order.setItems(items);
+        order.setTotalAmount(items.stream().mapToDouble(item -> item.getPrice() * item.getQuantity()).sum());
+        entityManager.persist(order);
+    }
+}
@@ -98,6 +98,43 @@ export const dashboardApi = {
   getAdminStats: () => api.get('/dashboard/admin-stats'),
   getSellerStats: () => api.get('/dashboard/seller-stats'), // Add this new function
   getPublicStats: () => api.get('/dashboard/public-stats'),
+  // Server-Sent Events: a "snapshot" of the seller stats, then one event per change.
+  // EventSource cannot send the Authorization header, so the stream is read with fetch.
+  // Resolves when the server closes the stream; rejects on HTTP or network errors.
+  streamSellerStats: async (onEvent: (name: string, data: any) => void, signal: AbortSignal) => {
+    const token = localStorage.getItem('authToken');
+    const response = await fetch(`${API_BASE_URL}/dashboard/seller-stream`, {
+      headers: {
+        Accept: 'text/event-stream',
+        ...(token ? { Authorization: `Bearer ${token}` } : {}),
+      },
+      signal,
+    });
+    if (!response.ok || !response.body) {
+      throw new Error(`Seller stream failed with status ${response.status}`);
+    }
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+    for (;;) {
+      const { done, value } = await reader.read();
+      if (done) return;
+      buffer += decoder.decode(value, { stream: true }).replace(/\r\n?/g, '\n');
+      let end: number;
+      while ((end = buffer.indexOf('\n\n')) >= 0) {
+        const block = buffer.slice(0, end);
+        buffer = buffer.slice(end + 2);
+        let name = 'message';
+        const data: string[] = [];
+        for (const line of block.split('\n')) {
+          if (line.startsWith('event:')) name = line.slice(6).trim();
+          else if (line.startsWith('data:')) data.push(line.slice(5).replace(/^ /, ''));
+        }
+        // Comment-only blocks are keepalives
+        if (data.length > 0) onEvent(name, JSON.parse(data.join('\n')));
+      }
+    }
+  },
 };
 
 // Add the new reviewApi
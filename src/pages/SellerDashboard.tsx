@@ -32,8 +32,60 @@ interface SellerStats {
   lowStockItems: number;
   totalProducts: number;
   recentOrders: Order[];
+  seq: number;
 }
 
+// A change pushed on the seller stream; only the fields relevant to the type are set
+interface DashboardEvent {
+  type: 'ORDER_CREATED' | 'ORDER_STATUS_CHANGED' | 'REVENUE_CHANGED' | 'LOW_STOCK' | 'PRODUCT_ADDED';
+  orderId?: number;
+  inventoryId?: number;
+  status?: string;
+  previousStatus?: string;
+  amount?: number;
+  quantity?: number;
+  lowStock?: boolean;
+  seq?: number;
+}
+
+const isActive = (status?: string) => status === 'PROCESSING' || status === 'SHIPPED';
+
+const applyEvent = (stats: SellerStats, event: DashboardEvent): SellerStats => {
+  switch (event.type) {
+    case 'ORDER_CREATED':
+      return {
+        ...stats,
+        recentOrders: [{
+          id: event.orderId!,
+          orderDate: new Date().toISOString(),
+          status: event.status!,
+          totalAmount: event.amount!,
+          customerName: 'New order',
+          customerPhoneNumber: '',
+        }, ...stats.recentOrders].slice(0, 5),
+      };
+    case 'ORDER_STATUS_CHANGED':
+      return {
+        ...stats,
+        activeOrders: stats.activeOrders + (isActive(event.status) ? 1 : 0) - (isActive(event.previousStatus) ? 1 : 0),
+        recentOrders: stats.recentOrders.map((order) =>
+          order.id === event.orderId ? { ...order, status: event.status! } : order),
+      };
+    case 'REVENUE_CHANGED':
+      return { ...stats, totalRevenue: stats.totalRevenue + (event.amount ?? 0) };
+    case 'LOW_STOCK':
+      return { ...stats, lowStockItems: stats.lowStockItems + (event.lowStock ? 1 : -1) };
+    case 'PRODUCT_ADDED':
+      return {
+        ...stats,
+        totalProducts: stats.totalProducts + 1,
+        lowStockItems: stats.lowStockItems + (event.lowStock ? 1 : 0),
+      };
+    default:
+      return stats;
+  }
+};
+
 interface SellerRating {
   averageRating: number;
   totalReviews: number;
@@ -58,20 +110,47 @@ const SellerDashboard = () => {
   const { toast } = useToast();
   const { user } = useAuth();
 
-  const fetchStats = useCallback(async () => {
-    try {
-      setLoading(true);
-      const response = await dashboardApi.getSellerStats();
-      setStats(response.data);
-    } catch (error) {
-      toast({
-        title: "Error",
-        description: "Failed to load dashboard statistics.",
-        variant: "destructive"
-      });
-    } finally {
-      setLoading(false);
-    }
+  // Live stats: a snapshot, then pushed changes. Reconnects with backoff and starts again from a
+  // fresh snapshot; events the snapshot already counts (seq at or below its seq) are skipped.
+  useEffect(() => {
+    const controller = new AbortController();
+    let snapshotSeq = -1;
+    let failures = 0;
+
+    const onEvent = (name: string, data: any) => {
+      if (name === 'snapshot') {
+        snapshotSeq = data.seq;
+        failures = 0;
+        setStats(data);
+        setLoading(false);
+        return;
+      }
+      const event = data as DashboardEvent;
+      if (event.seq != null && event.seq <= snapshotSeq) return;
+      setStats((current) => (current ? applyEvent(current, event) : current));
+    };
+
+    const run = async () => {
+      while (!controller.signal.aborted) {
+        try {
+          await dashboardApi.streamSellerStats(onEvent, controller.signal);
+        } catch (error) {
+          if (controller.signal.aborted) return;
+          failures++;
+          if (failures === 1) {
+            toast({
+              title: "Error",
+              description: "Lost the live dashboard connection. Reconnecting...",
+              variant: "destructive"
+            });
+          }
+        }
+        setLoading((current) => current && failures === 0);
+        await new Promise((resolve) => setTimeout(resolve, Math.min(30000, 1000 * 2 ** failures)));
+      }
+    };
+    run();
+    return () => controller.abort();
   }, [toast]);
 
   const fetchRating = useCallback(async () => {
@@ -99,10 +178,9 @@ const SellerDashboard = () => {
   }, [user]);
 
   useEffect(() => {
-    fetchStats();
     fetchRating();
     fetchReviews();
-  }, [fetchStats, fetchRating, fetchReviews]);
+  }, [fetchRating, fetchReviews]);
 
   const getStatusBadgeVariant = (status: string) => {
     switch (status) {